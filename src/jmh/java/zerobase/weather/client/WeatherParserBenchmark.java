@@ -0,0 +1,54 @@
+package zerobase.weather.client;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 기존 json-simple 트리 + HashMap 경로와 스트리밍 파서를 비교한다.
+// 파싱 1회당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 값으로 확인한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeatherParserBenchmark {
+    static final String PAYLOAD = "{\"coord\":{\"lon\":126.9778,\"lat\":37.5683},"
+            + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"description\":\"clear sky\",\"icon\":\"01d\"}],"
+            + "\"base\":\"stations\","
+            + "\"main\":{\"temp\":280.5,\"feels_like\":277.9,\"temp_min\":279.8,\"temp_max\":281.2,"
+            + "\"pressure\":1021,\"humidity\":45},"
+            + "\"visibility\":10000,\"wind\":{\"speed\":3.6,\"deg\":300},\"clouds\":{\"all\":0},"
+            + "\"dt\":1709258400,\"sys\":{\"type\":1,\"id\":8105,\"country\":\"KR\","
+            + "\"sunrise\":1709244466,\"sunset\":1709285625},"
+            + "\"timezone\":32400,\"id\":1835848,\"name\":\"Seoul\",\"cod\":200}";
+
+    private final WeatherParser weatherParser = new WeatherParser();
+
+    @Benchmark
+    public WeatherData streaming() {
+        return weatherParser.parse(PAYLOAD);
+    }
+
+    @Benchmark
+    public WeatherData jsonSimple() throws ParseException {
+        JSONObject jsonObject = (JSONObject) new JSONParser().parse(PAYLOAD);
+        Map<String, Object> resultMap = new HashMap<>();
+        JSONObject mainData = (JSONObject) jsonObject.get("main");
+        resultMap.put("temp", mainData.get("temp"));
+
+        JSONObject weatherData = (JSONObject) ((JSONArray) jsonObject.get("weather")).get(0);
+        resultMap.put("main", weatherData.get("main"));
+        resultMap.put("icon", weatherData.get("icon"));
+        return new WeatherData(
+                (double) resultMap.get("temp"),
+                resultMap.get("main").toString(),
+                resultMap.get("icon").toString());
+    }
+}
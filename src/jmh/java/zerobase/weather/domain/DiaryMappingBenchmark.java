@@ -0,0 +1,35 @@
+package zerobase.weather.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// 날씨 데이터를 일기에 옮겨 담는 비용. 일괄 저장 시 일기 한 건마다 호출된다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiaryMappingBenchmark {
+    private final DateWeather dateWeather = new DateWeather();
+
+    @Setup
+    public void setUp() {
+        dateWeather.setDate(LocalDate.of(2024, 3, 1));
+        dateWeather.setCity("seoul");
+        dateWeather.setWeather("Clear");
+        dateWeather.setIcon("01d");
+        dateWeather.setTemperature(280.5);
+    }
+
+    @Benchmark
+    public Diary setDateWeather() {
+        Diary diary = new Diary();
+        diary.setDateWeather(dateWeather);
+        diary.setText("오늘은 맑았다");
+        diary.setDate(dateWeather.getDate());
+        return diary;
+    }
+}
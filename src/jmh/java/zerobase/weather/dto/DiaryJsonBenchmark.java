@@ -0,0 +1,56 @@
+package zerobase.weather.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// /read/diaries 응답 직렬화 비용. 컨트롤러는 엔티티가 아니라 DiaryDto 목록을 내보내므로 DiaryDto 로 잰다.
+// 기본 JSON 목록과 열 단위 응답(JSON, CBOR)을 비교한다.
+// ObjectMapper 는 Spring Boot 와 같은 기본 설정(JavaTimeModule, 날짜를 문자열로)으로 만든다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiaryJsonBenchmark {
+    @Param({"10", "1000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    private List<DiaryDto> diaries;
+
+    @Setup
+    public void setUp() {
+        LocalDate firstDate = LocalDate.of(2024, 1, 1);
+        diaries = IntStream.range(0, size)
+                .mapToObj(i -> new DiaryDto(i + 1, "Clear", "01d", 280.5,
+                        "오늘은 날씨가 맑아서 공원에서 산책을 했다", firstDate.plusDays(i % 366), "seoul", false))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(diaries);
+    }
+
+    // Accept: application/vnd.weather.diary-columns+json
+    @Benchmark
+    public byte[] serializeColumns() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(DiaryColumns.from(diaries));
+    }
+
+    // Accept: application/cbor
+    @Benchmark
+    public byte[] serializeColumnsCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(DiaryColumns.from(diaries));
+    }
+}
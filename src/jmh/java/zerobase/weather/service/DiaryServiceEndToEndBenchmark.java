@@ -0,0 +1,88 @@
+package zerobase.weather.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import zerobase.weather.WeatherApplication;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.stub.WeatherStubServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 인메모리 H2 와 로컬 날씨 스텁 서버로 애플리케이션 전체를 띄워 DiaryService 를 호출한다.
+// 스키마는 운영과 같은 Flyway 마이그레이션으로 만든다. (DB 별 구문은 db/migration/h2 에 있다)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiaryServiceEndToEndBenchmark {
+    // 날씨는 날짜별로 한 번만 스텁에서 받고 이후에는 캐시를 쓴다.
+    private static final int DATE_COUNT = 365;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private WeatherStubServer weatherStubServer;
+    private ConfigurableApplicationContext context;
+    private DiaryService diaryService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        weatherStubServer = new WeatherStubServer(Duration.ZERO, 0);
+        Path indexPath = Files.createTempDirectory("diary-index");
+        context = new SpringApplicationBuilder(WeatherApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "openWeatherMap.key=benchmark",
+                        "openWeatherMap.url=" + weatherStubServer.getUrl(),
+                        "openWeatherMap.rate-limit-per-second=0",
+                        "weather.search.index-path=" + indexPath,
+                        // readDiary 가 DiaryReadCache 적중만 재지 않도록 조회 캐시를 끈다. (DB 조회 경로를 측정)
+                        "weather.diary-cache.max-size=0",
+                        "logging.level.root=WARN")
+                .run();
+        diaryService = context.getBean(DiaryService.class);
+
+        // 조회 벤치마크가 빈 결과를 읽지 않도록 날짜마다 일기를 하나씩 넣어 둔다.
+        for (int i = 0; i < DATE_COUNT; i++) {
+            diaryService.createDiary(FIRST_DATE.plusDays(i), null, "벤치마크 일기 " + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        weatherStubServer.close();
+    }
+
+    @Benchmark
+    public void createDiary() {
+        LocalDate date = FIRST_DATE.plusDays(sequence.getAndIncrement() % DATE_COUNT);
+        diaryService.createDiary(date, null, "벤치마크 일기");
+    }
+
+    @Benchmark
+    public List<DiaryDto> readDiary() {
+        return diaryService.readDiary(FIRST_DATE.plusDays(sequence.getAndIncrement() % DATE_COUNT));
+    }
+
+    @Benchmark
+    public List<DiaryDto> readDiaries() {
+        LocalDate startDate = FIRST_DATE.plusDays(sequence.getAndIncrement() % (DATE_COUNT - 30));
+        return diaryService.readDiaries(startDate, startDate.plusDays(6));
+    }
+}
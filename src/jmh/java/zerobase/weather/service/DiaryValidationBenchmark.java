@@ -0,0 +1,38 @@
+package zerobase.weather.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 모든 일기 API 의 입구에서 호출되는 날짜 검증. 검증에는 의존 객체가 필요 없어 나머지는 null 로 둔다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiaryValidationBenchmark {
+    private final LocalDate startDate = LocalDate.of(2024, 3, 1);
+    private final LocalDate endDate = LocalDate.of(2024, 3, 31);
+
+    private DiaryService diaryService;
+
+    @Setup
+    public void setUp() {
+        diaryService = new DiaryService(null, null, null, null, null, null, null, null, null, null,
+                new SimpleMeterRegistry(), null, null, null, 500, "seoul", List.of("seoul"), 1);
+    }
+
+    @Benchmark
+    public void validateDate() {
+        diaryService.validateDate(startDate);
+    }
+
+    @Benchmark
+    public void validateDateRange() {
+        diaryService.validateDateRange(startDate, endDate);
+    }
+}
@@ -0,0 +1,112 @@
+package zerobase.weather.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import zerobase.weather.client.WeatherClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+// 같은 부하를 플랫폼 스레드 / 가상 스레드 모드에 걸어 처리량과 지연 시간을 비교한다.
+// 각 요청은 서로 다른 과거 날짜를 쓰고 캐시를 꺼 두어 매번 (지연이 있는) 날씨 API 를 호출한다.
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "openWeatherMap.key=load-test",
+        "weather.cache.max-size=0"
+})
+abstract class AbstractThreadModelLoadTest {
+    private static final int CONCURRENCY = 800;
+    private static final int TOTAL_REQUESTS = 4_000;
+    private static final long UPSTREAM_LATENCY_MILLIS = 100;
+    private static final String WEATHER_JSON =
+            "{\"weather\":[{\"main\":\"Clear\",\"icon\":\"01d\"}],\"main\":{\"temp\":280.5}}";
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @MockBean
+    private WeatherClient weatherClient;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void stubUpstream() {
+        given(weatherClient.fetchWeather(anyString())).willAnswer(invocation -> {
+            Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+            return WEATHER_JSON;
+        });
+    }
+
+    abstract String mode();
+
+    @Test
+    void createDiaryUnderLoad() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        long[] latencies = new long[TOTAL_REQUESTS];
+        LocalDate firstDate = LocalDate.of(2000, 1, 1);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TOTAL_REQUESTS; i++) {
+                int index = i;
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                        "http://localhost:" + port + "/create/diary?date=" + firstDate.plusDays(index)))
+                                .header("Content-Type", "text/plain")
+                                .POST(HttpRequest.BodyPublishers.ofString("load test"))
+                                .build();
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[index] = System.nanoTime() - requestStart;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("[%s] %d requests, concurrency %d: %.1f req/s, p50 %d ms, p99 %d ms, %d failures%n",
+                mode(), TOTAL_REQUESTS, CONCURRENCY,
+                TOTAL_REQUESTS / (elapsed / 1_000_000_000.0),
+                TimeUnit.NANOSECONDS.toMillis(latencies[TOTAL_REQUESTS / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[TOTAL_REQUESTS * 99 / 100]),
+                failures.get());
+
+        assertEquals(0, failures.get());
+    }
+}
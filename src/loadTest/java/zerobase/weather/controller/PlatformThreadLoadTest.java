@@ -0,0 +1,8 @@
+package zerobase.weather.controller;
+
+class PlatformThreadLoadTest extends AbstractThreadModelLoadTest {
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,11 @@
+package zerobase.weather.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("virtual")
+class VirtualThreadLoadTest extends AbstractThreadModelLoadTest {
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,183 @@
+package zerobase.weather.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import zerobase.weather.WeatherApplication;
+import zerobase.weather.stub.WeatherStubServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 인메모리 H2 와 로컬 날씨 스텁 서버로 애플리케이션을 띄우고, 일기 저장/조회/기간 조회/삭제를 섞은 부하를 건다.
+ * 동시 사용자 수만큼의 가상 스레드가 응답을 받는 즉시 다음 요청을 보내는 closed-loop 방식이며,
+ * 워밍업 이후 구간의 작업별 처리량과 응답 시간 백분위를 출력한다.
+ *
+ * <pre>
+ * ./gradlew loadHarness -Pload.concurrency=128 -Pload.duration=60s -Pload.stub.latency=100ms -Pload.stub.error-rate=0.05
+ * </pre>
+ */
+public class DiaryLoadHarness {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+
+    private final int concurrency = Integer.getInteger("load.concurrency", 64);
+    private final Duration warmup = duration("load.warmup", "5s");
+    private final Duration duration = duration("load.duration", "30s");
+    private final Duration stubLatency = duration("load.stub.latency", "50ms");
+    private final double stubErrorRate = Double.parseDouble(System.getProperty("load.stub.error-rate", "0"));
+    private final int dateCount = Integer.getInteger("load.dates", 365);
+    private final Map<String, Integer> mix = parseMix(System.getProperty("load.mix", "create:20,read:50,range:25,delete:5"));
+    private final Path reportPath = Path.of(System.getProperty("load.report", "build/reports/load/summary.txt"));
+
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private String baseUrl;
+    private volatile boolean recording;
+
+    public static void main(String[] args) throws Exception {
+        new DiaryLoadHarness().run();
+        // 스텁 서버와 HttpClient 의 스레드가 남지 않도록 명시적으로 종료한다.
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        mix.keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder(operation)));
+        try (WeatherStubServer weatherStubServer = new WeatherStubServer(stubLatency, stubErrorRate);
+             ConfigurableApplicationContext context = start(weatherStubServer)) {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            long end;
+            long recordingStart;
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                long start = System.nanoTime();
+                recordingStart = start + warmup.toNanos();
+                end = recordingStart + duration.toNanos();
+                for (int i = 0; i < concurrency; i++) {
+                    workers.submit(() -> work(end));
+                }
+                Thread.sleep(warmup);
+                recording = true;
+            }
+            double elapsedSeconds = (end - recordingStart) / 1_000_000_000.0;
+            report(elapsedSeconds, weatherStubServer.getRequestCount());
+        }
+    }
+
+    private ConfigurableApplicationContext start(WeatherStubServer weatherStubServer) throws IOException {
+        Path indexPath = Files.createTempDirectory("diary-index");
+        return new SpringApplicationBuilder(WeatherApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "openWeatherMap.key=load-test",
+                        "openWeatherMap.url=" + weatherStubServer.getUrl(),
+                        "openWeatherMap.rate-limit-per-second=0",
+                        "weather.search.index-path=" + indexPath,
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private void work(long end) {
+        while (System.nanoTime() < end) {
+            String operation = pickOperation();
+            HttpRequest request = request(operation, FIRST_DATE.plusDays(ThreadLocalRandom.current().nextInt(dateCount)));
+            long start = System.nanoTime();
+            boolean succeeded;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                succeeded = status / 100 == 2 || status == 304;
+            } catch (IOException e) {
+                succeeded = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                recorders.get(operation).record(System.nanoTime() - start, succeeded);
+            }
+        }
+    }
+
+    private HttpRequest request(String operation, LocalDate date) {
+        return switch (operation) {
+            case "create" -> HttpRequest.newBuilder(uri("/create/diary?date=" + date))
+                    .header("Content-Type", "text/plain")
+                    .POST(HttpRequest.BodyPublishers.ofString("부하 테스트 일기"))
+                    .build();
+            case "read" -> HttpRequest.newBuilder(uri("/read/diary?date=" + date)).GET().build();
+            case "range" -> HttpRequest.newBuilder(
+                    uri("/read/diaries?startDate=" + date + "&endDate=" + date.plusDays(6))).GET().build();
+            case "delete" -> HttpRequest.newBuilder(uri("/delete/diary?date=" + date)).DELETE().build();
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        };
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create(baseUrl + pathAndQuery);
+    }
+
+    private String pickOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void report(double elapsedSeconds, long stubRequests) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("concurrency %d, duration %s (warmup %s), stub latency %s, stub error rate %.2f, mix %s",
+                concurrency, duration, warmup, stubLatency, stubErrorRate, mix));
+        lines.add(String.format("%-8s %9s %8s %12s %9s %9s %9s %9s",
+                "op", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        // 전체 백분위는 작업별 기록을 합쳐서 다시 계산한다.
+        LatencyRecorder total = new LatencyRecorder("total");
+        for (LatencyRecorder recorder : recorders.values()) {
+            lines.add(recorder.summarize(elapsedSeconds).format());
+            total.addAll(recorder);
+        }
+        lines.add(total.summarize(elapsedSeconds).format());
+        lines.add("weather stub requests: " + stubRequests);
+
+        lines.forEach(System.out::println);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.write(reportPath, lines);
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(weight[0].trim(), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,71 @@
+package zerobase.weather.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// 작업 하나의 응답 시간과 실패 수. 측정 구간에 기록된 값만 모아 두었다가 끝난 뒤 정렬해 백분위를 구한다.
+class LatencyRecorder {
+    private final String operation;
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    LatencyRecorder(String operation) {
+        this.operation = operation;
+    }
+
+    synchronized void record(long nanos, boolean succeeded) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!succeeded) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencyRecorder other) {
+        long[] otherSamples;
+        long otherErrors;
+        synchronized (other) {
+            otherSamples = Arrays.copyOf(other.samples, other.count);
+            otherErrors = other.errors;
+        }
+        synchronized (this) {
+            if (count + otherSamples.length > samples.length) {
+                samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + otherSamples.length));
+            }
+            System.arraycopy(otherSamples, 0, samples, count, otherSamples.length);
+            count += otherSamples.length;
+            errors += otherErrors;
+        }
+    }
+
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(operation, count, errors, count / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    record Summary(String operation, long count, long errors, double throughput,
+                   double p50, double p95, double p99, double max) {
+        String format() {
+            return String.format("%-8s %9d %8d %12.1f %9.2f %9.2f %9.2f %9.2f",
+                    operation, count, errors, throughput, p50, p95, p99, max);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import zerobase.weather.client.WeatherClient;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.repository.DateWeatherRepository;
+import zerobase.weather.repository.DiaryRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+
+@Testcontainers
+@SpringBootTest(properties = {
+        "openWeatherMap.key=load-test",
+        // 캐시를 끄고 매번 date_weather 를 읽도록 해 격리 수준의 영향만 측정한다.
+        "weather.cache.max-size=0"
+})
+class DiaryWriteContentionLoadTest {
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 50;
+    private static final String WEATHER_JSON =
+            "{\"weather\":[{\"main\":\"Clear\",\"icon\":\"01d\"}],\"main\":{\"temp\":280.5}}";
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @MockBean
+    private WeatherClient weatherClient;
+
+    @Autowired
+    private DiaryService diaryService;
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private DateWeatherRepository dateWeatherRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        diaryRepository.deleteAll();
+        dateWeatherRepository.deleteAll();
+        given(weatherClient.fetchWeather(anyString())).willReturn(WEATHER_JSON);
+    }
+
+    @Test
+    void defaultIsolationUnderContention() throws Exception {
+        // given
+        LocalDate serializableDate = LocalDate.of(2024, 3, 1);
+        LocalDate defaultDate = LocalDate.of(2024, 3, 2);
+        seedWeather(serializableDate);
+        seedWeather(defaultDate);
+
+        TransactionTemplate serializable = new TransactionTemplate(transactionManager);
+        serializable.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+
+        // when
+        Result before = run(() -> serializable.executeWithoutResult(
+                status -> diaryService.createDiary(serializableDate, "seoul", "serializable")));
+        Result after = run(() -> diaryService.createDiary(defaultDate, "seoul", "default"));
+
+        // then
+        System.out.printf("SERIALIZABLE : %d ok, %d failed, %.1f writes/s%n",
+                before.succeeded, before.failed, before.throughput());
+        System.out.printf("DEFAULT      : %d ok, %d failed, %.1f writes/s%n",
+                after.succeeded, after.failed, after.throughput());
+        // 처리량은 공유 호스트의 상태에 따라 달라지므로 비율만 출력하고 검증하지 않는다.
+        System.out.printf("DEFAULT / SERIALIZABLE throughput: %.2fx%n", after.throughput() / before.throughput());
+
+        assertEquals(0, after.failed);
+        assertEquals(THREADS * WRITES_PER_THREAD, before.succeeded + before.failed);
+        assertEquals(THREADS * WRITES_PER_THREAD, diaryRepository.findDtosByDate(defaultDate).size());
+        assertEquals(before.succeeded, diaryRepository.findDtosByDate(serializableDate).size());
+    }
+
+    @Test
+    void concurrentMissesPersistWeatherOnce() throws Exception {
+        // given
+        LocalDate today = LocalDate.now();
+
+        // when
+        Result result = run(() -> diaryService.createDiary(today, "seoul", "miss"));
+
+        // then
+        assertEquals(0, result.failed);
+        assertEquals(THREADS * WRITES_PER_THREAD, diaryRepository.findDtosByDate(today).size());
+        assertTrue(dateWeatherRepository.findByDateAndCity(today, "seoul").isPresent());
+        assertEquals(1, dateWeatherRepository.count());
+        verify(weatherClient, atMost(THREADS)).fetchWeather("seoul");
+    }
+
+    private void seedWeather(LocalDate date) {
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(date);
+        dateWeather.setCity("seoul");
+        dateWeather.setWeather("Clear");
+        dateWeather.setIcon("01d");
+        dateWeather.setTemperature(280.5);
+        dateWeatherRepository.save(dateWeather);
+    }
+
+    private Result run(Runnable write) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < WRITES_PER_THREAD; j++) {
+                        try {
+                            write.run();
+                            succeeded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new Result(succeeded.get(), failed.get(), System.nanoTime() - start);
+    }
+
+    private record Result(int succeeded, int failed, long elapsedNanos) {
+        double throughput() {
+            return succeeded / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
@@ -2,10 +2,12 @@ package zerobase.weather;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
-@SpringBootApplication
+// R2DBC ConnectionFactory 빈이 생기면 DataSource 자동 설정이 꺼지므로, reactive 프로필의 연결은 ReactiveConfig 에서 직접 만든다.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableTransactionManagement
 @EnableScheduling
 public class WeatherApplication {
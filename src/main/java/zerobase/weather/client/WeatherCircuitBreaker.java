@@ -0,0 +1,83 @@
+package zerobase.weather.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 날씨 API 가 연속으로 실패하면 일정 시간 동안 호출을 막아(OPEN) 요청 스레드가 타임아웃까지 기다리지 않게 한다.
+ * 대기 시간이 지나면 한 번만 시험 호출(HALF_OPEN)을 허용하고, 성공하면 다시 닫는다.
+ */
+@Component
+public class WeatherCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public WeatherCircuitBreaker(
+            @Value("${openWeatherMap.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${openWeatherMap.circuit-breaker.open-duration:30s}") Duration openDuration
+    ) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                logger.info("Weather API circuit half-open, sending a trial request.");
+                return true;
+            default:
+                // 시험 호출의 결과가 나올 때까지는 다른 호출을 막는다.
+                return false;
+        }
+    }
+
+    // 허용받은 호출을 보내지 못했을 때 호출한다. 시험 호출이었다면 다음 호출이 다시 시험할 수 있게 한다.
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Weather API circuit closed.");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                logger.warn("Weather API circuit opened after {} consecutive failures.", Math.max(1, consecutiveFailures));
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,145 @@
+package zerobase.weather.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.weather.exception.DiaryException;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static zerobase.weather.type.ErrorCode.FAIL_TO_FETCH_WEATHER_DATA_FROM_API;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_REJECTED_REQUEST;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_UNAVAILABLE;
+
+@Component
+public class WeatherClient {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherClient.class);
+
+    private final HttpClient httpClient;
+    private final String apiUrl;
+    private final String apiKey;
+    private final Duration requestTimeout;
+    private final WeatherRateLimiter rateLimiter;
+    private final WeatherCircuitBreaker circuitBreaker;
+
+    public WeatherClient(
+            @Value("${openWeatherMap.key}") String apiKey,
+            @Value("${openWeatherMap.url:https://api.openweathermap.org/data/2.5/weather}") String apiUrl,
+            @Value("${openWeatherMap.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${openWeatherMap.request-timeout:5s}") Duration requestTimeout,
+            @Value("${openWeatherMap.rate-limit-per-second:10}") int rateLimitPerSecond,
+            WeatherCircuitBreaker circuitBreaker,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.apiKey = apiKey;
+        this.apiUrl = apiUrl;
+        this.requestTimeout = requestTimeout;
+        this.rateLimiter = new WeatherRateLimiter(rateLimitPerSecond);
+        this.circuitBreaker = circuitBreaker;
+        // HttpClient 는 keep-alive 커넥션 풀을 내장하고 있어 하나의 인스턴스를 재사용한다.
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        this.httpClient = builder.build();
+    }
+
+    public CompletableFuture<String> fetchWeatherAsync(String city) {
+        String query = "?q=" + URLEncoder.encode(city, StandardCharsets.UTF_8) + "&APPID=" + apiKey;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + query))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        // 회로가 열려 보내지 않을 요청이 발송 시각을 예약해 회복 뒤의 요청을 늦추지 않도록 회로를 먼저 확인한다.
+        if (!circuitBreaker.tryAcquire()) {
+            logger.debug("Weather API circuit is open, failing fast for city: {}", city);
+            return CompletableFuture.failedFuture(new DiaryException(WEATHER_API_UNAVAILABLE));
+        }
+        // 요청 타임아웃보다 오래 기다려야 한다면 줄을 세우지 않고 바로 실패시킨다.
+        long waitNanos = rateLimiter.reserve(requestTimeout);
+        if (waitNanos < 0) {
+            logger.warn("Weather API rate limit exceeded for city: {}", city);
+            circuitBreaker.release();
+            return CompletableFuture.failedFuture(new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API));
+        }
+        Supplier<CompletableFuture<HttpResponse<String>>> send =
+                () -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> responseFuture = waitNanos == 0
+                ? send.get()
+                : CompletableFuture.runAsync(() -> { },
+                        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+                .thenCompose(ignored -> send.get());
+
+        return responseFuture
+                .whenComplete(this::recordOutcome)
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        logger.error("Weather API responded with status {}: {}",
+                                response.statusCode(), response.body());
+                        // 없는 도시나 잘못된 키 같은 4xx 는 다시 보내도 같으므로 일시적인 실패와 구분한다.
+                        throw new DiaryException(isClientError(response.statusCode())
+                                ? WEATHER_API_REJECTED_REQUEST
+                                : FAIL_TO_FETCH_WEATHER_DATA_FROM_API);
+                    }
+                    return response.body();
+                });
+    }
+
+    // 연결 실패, 타임아웃, 5xx, 429 만 장애로 본다. 그 외 4xx 는 요청 문제이므로 회로에 영향을 주지 않는다.
+    private void recordOutcome(HttpResponse<String> response, Throwable e) {
+        if (e != null) {
+            circuitBreaker.onFailure();
+        } else if (response.statusCode() >= 500 || response.statusCode() == 429) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private static boolean isClientError(int statusCode) {
+        return statusCode >= 400 && statusCode < 500 && statusCode != 429;
+    }
+
+    public String fetchWeather(String city) {
+        logger.debug("Start getting weather data string from API for city: {}", city);
+        CompletableFuture<String> future = fetchWeatherAsync(city);
+        try {
+            // 요청 타임아웃이 응답 헤더까지만 적용되므로 본문 수신과 rate limit 대기까지 포함해 한 번 더 제한한다.
+            String weatherData = future.get(requestTimeout.toMillis() * 3, TimeUnit.MILLISECONDS);
+            logger.debug("Weather data string retrieved successfully from API.");
+            return weatherData;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.error("Timed out fetching weather data from API.");
+            throw new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DiaryException diaryException) {
+                throw diaryException;
+            }
+            logger.error("Failed to fetch weather data from API: {}", e.getMessage(), e);
+            throw new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package zerobase.weather.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class WeatherData {
+    private final double temperature;
+    private final String weather;
+    private final String icon;
+}
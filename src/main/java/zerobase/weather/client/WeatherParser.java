@@ -0,0 +1,85 @@
+package zerobase.weather.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+import zerobase.weather.exception.DiaryException;
+
+import java.io.IOException;
+
+import static zerobase.weather.type.ErrorCode.FAIL_TO_PARSE_WEATHER_DATA;
+
+@Component
+public class WeatherParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 트리나 Map 을 만들지 않고 main.temp, weather[0].main, weather[0].icon 만 읽어온다.
+    public WeatherData parse(String jsonString) {
+        try (JsonParser parser = JSON_FACTORY.createParser(jsonString)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DiaryException(FAIL_TO_PARSE_WEATHER_DATA);
+            }
+
+            Double temperature = null;
+            String[] weatherAndIcon = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                if ("main".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    temperature = readTemperature(parser);
+                } else if ("weather".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                    weatherAndIcon = readFirstWeather(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (temperature == null || weatherAndIcon == null
+                    || weatherAndIcon[0] == null || weatherAndIcon[1] == null) {
+                throw new DiaryException(FAIL_TO_PARSE_WEATHER_DATA);
+            }
+            return new WeatherData(temperature, weatherAndIcon[0], weatherAndIcon[1]);
+        } catch (IOException e) {
+            throw new DiaryException(FAIL_TO_PARSE_WEATHER_DATA);
+        }
+    }
+
+    private static Double readTemperature(JsonParser parser) throws IOException {
+        Double temperature = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if ("temp".equals(fieldName) && valueToken.isNumeric()) {
+                temperature = parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return temperature;
+    }
+
+    private static String[] readFirstWeather(JsonParser parser) throws IOException {
+        String[] weatherAndIcon = null;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (weatherAndIcon == null && token == JsonToken.START_OBJECT) {
+                weatherAndIcon = new String[2];
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    JsonToken valueToken = parser.nextToken();
+                    if ("main".equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                        weatherAndIcon[0] = parser.getText();
+                    } else if ("icon".equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                        weatherAndIcon[1] = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return weatherAndIcon;
+    }
+}
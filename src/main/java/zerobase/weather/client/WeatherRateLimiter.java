@@ -0,0 +1,41 @@
+package zerobase.weather.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외부 날씨 API 로 나가는 요청 간격을 일정하게 맞춘다.
+ * 요청마다 다음 발송 시각을 예약하고, 호출자는 돌려받은 시간만큼 기다린 뒤 보낸다.
+ */
+class WeatherRateLimiter {
+    private final long intervalNanos;
+    private final AtomicLong nextPermitAt = new AtomicLong(System.nanoTime());
+
+    WeatherRateLimiter(int permitsPerSecond) {
+        // 0 이하이면 제한하지 않는다.
+        this.intervalNanos = permitsPerSecond > 0 ? Duration.ofSeconds(1).toNanos() / permitsPerSecond : 0;
+    }
+
+    /**
+     * 발송 시각을 예약하고 지금부터 기다려야 하는 시간을 반환한다.
+     * 대기 시간이 {@code maxWait} 를 넘으면 예약하지 않고 -1 을 반환한다.
+     */
+    long reserve(Duration maxWait) {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        long maxWaitNanos = maxWait.toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long permitAt = nextPermitAt.get();
+            long scheduledAt = Math.max(permitAt, now);
+            long waitNanos = scheduledAt - now;
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            if (nextPermitAt.compareAndSet(permitAt, scheduledAt + intervalNanos)) {
+                return waitNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package zerobase.weather.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+@Configuration
+@PropertySource("classpath:flyway.properties")
+public class FlywayConfig {
+    // ddl-auto 로 이미 테이블이 만들어진 DB 는 V1 을 기준선으로 삼고 V2 부터 적용한다.
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaselineCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1");
+    }
+}
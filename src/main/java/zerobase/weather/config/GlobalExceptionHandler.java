@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 import zerobase.weather.dto.ErrorResponse;
 import zerobase.weather.exception.DiaryException;
 
@@ -40,6 +41,16 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // reactive 프로필(WebFlux)에서 파라미터 변환에 실패한 경우
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleServerWebInputException(ServerWebInputException e) {
+        logger.error("ServerWebInputException occurred: {}", e.getMessage(), e);
+        return new ErrorResponse(
+                INVALID_REQUEST,
+                INVALID_REQUEST.getDescription());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
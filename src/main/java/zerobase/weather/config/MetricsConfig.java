@@ -0,0 +1,63 @@
+package zerobase.weather.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import zerobase.weather.client.WeatherCircuitBreaker;
+import zerobase.weather.service.DateWeatherCache;
+import zerobase.weather.service.DiaryReadCache;
+
+// 엔드포인트별 http.server.requests, 리포지토리별 spring.data.repository.invocations 는
+// Actuator 가 자동으로 기록하고, 날씨 관련 지표는 weather.* 이름으로 기록한다.
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+    @Bean
+    public MeterBinder dateWeatherCacheMetrics(DateWeatherCache dateWeatherCache) {
+        return registry -> {
+            FunctionCounter.builder("weather.cache.requests", dateWeatherCache, DateWeatherCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("weather.cache.requests", dateWeatherCache, DateWeatherCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("weather.cache.evictions", dateWeatherCache, DateWeatherCache::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("weather.cache.size", dateWeatherCache, DateWeatherCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder weatherCircuitBreakerMetrics(WeatherCircuitBreaker weatherCircuitBreaker) {
+        return registry -> {
+            for (WeatherCircuitBreaker.State state : WeatherCircuitBreaker.State.values()) {
+                Gauge.builder("weather.api.circuit.state", weatherCircuitBreaker,
+                                circuitBreaker -> circuitBreaker.getState() == state ? 1 : 0)
+                        .tag("state", state.name().toLowerCase())
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder diaryReadCacheMetrics(DiaryReadCache diaryReadCache) {
+        return registry -> {
+            FunctionCounter.builder("diary.cache.requests", diaryReadCache, DiaryReadCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("diary.cache.requests", diaryReadCache, DiaryReadCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("diary.cache.evictions", diaryReadCache, DiaryReadCache::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("diary.cache.size", diaryReadCache, DiaryReadCache::size)
+                    .register(registry);
+            Gauge.builder("diary.cache.hit-ratio", diaryReadCache, DiaryReadCache::getHitRatio)
+                    .register(registry);
+        };
+    }
+}
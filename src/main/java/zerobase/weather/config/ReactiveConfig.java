@@ -0,0 +1,63 @@
+package zerobase.weather.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * reactive 프로필에서 쓰는 Netty 서버와 R2DBC 연결.
+ * ConnectionFactory 를 빈으로 등록하면 DataSourceAutoConfiguration 이 꺼져 JPA 를 쓰는 나머지 빈이 동작하지 않으므로,
+ * 커넥션 풀은 이 설정 안에서만 만들고 DatabaseClient 와 TransactionalOperator 만 빈으로 내보낸다.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConfig(
+            @Value("${spring.r2dbc.url}") String url,
+            @Value("${spring.r2dbc.username:}") String username,
+            @Value("${spring.r2dbc.password:}") String password,
+            @Value("${spring.r2dbc.pool.max-size:10}") int maxSize
+    ) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .build());
+    }
+
+    // Tomcat 도 클래스패스에 있으므로 Netty 를 명시적으로 고른다.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+}
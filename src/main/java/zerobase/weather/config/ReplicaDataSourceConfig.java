@@ -0,0 +1,82 @@
+package zerobase.weather.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import zerobase.weather.service.DiaryChangedEvent;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * weather.datasource.replica.urls 가 있으면 읽기 전용 트랜잭션을 레플리카로 보내는 DataSource 를 만든다.
+ * 프라이머리는 spring.datasource.*, 레플리카는 같은 드라이버와 계정에 URL 만 바꿔 연결하며,
+ * 커넥션 풀 설정(spring.datasource.hikari.*)은 모두에 똑같이 적용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "weather.datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${weather.datasource.replica.urls}") List<String> replicaUrls,
+            @Value("${weather.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${weather.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${weather.datasource.replica.max-lag:1s}") Duration maxLag
+    ) {
+        HikariDataSource primary = pool(environment, "primary",
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class));
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(pool(environment, "replica-" + i, DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls.get(i).trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)));
+        }
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, maxLag);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // 일기 쓰기와 같은 트랜잭션에서 발행되므로, 커밋 시점부터 해당 날짜의 읽기를 프라이머리로 보낸다.
+    @EventListener
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        if (routingDataSource != null) {
+            routingDataSource.recordWrite(event.getDates());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    private static HikariDataSource pool(Environment environment, String name,
+                                         DataSourceBuilder<HikariDataSource> builder) {
+        HikariDataSource dataSource = builder.build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
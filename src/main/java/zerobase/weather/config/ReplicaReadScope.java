@@ -0,0 +1,52 @@
+package zerobase.weather.config;
+
+import java.time.LocalDate;
+
+/**
+ * 현재 스레드의 읽기 전용 트랜잭션이 어느 날짜 범위의 일기를 읽는지 ReplicaRoutingDataSource 에 알린다.
+ * 범위 안에 최근 쓰인 날짜가 없으면 다른 날짜에 쓰기가 몰리고 있어도 레플리카에서 읽는다.
+ * 범위를 알리지 않은 읽기는 날짜와 상관없이 마지막 쓰기를 기준으로 고른다.
+ *
+ * <pre>
+ * try (ReplicaReadScope ignored = ReplicaReadScope.of(startDate, endDate)) {
+ *     return diaryRepository.findDtosByDateBetween(startDate, endDate);
+ * }
+ * </pre>
+ */
+public final class ReplicaReadScope implements AutoCloseable {
+    private static final ThreadLocal<ReplicaReadScope> CURRENT = new ThreadLocal<>();
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final ReplicaReadScope previous;
+
+    private ReplicaReadScope(LocalDate startDate, LocalDate endDate, ReplicaReadScope previous) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.previous = previous;
+    }
+
+    public static ReplicaReadScope of(LocalDate startDate, LocalDate endDate) {
+        ReplicaReadScope scope = new ReplicaReadScope(startDate, endDate, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static ReplicaReadScope current() {
+        return CURRENT.get();
+    }
+
+    boolean contains(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+
+    // 중첩된 범위가 닫히면 바깥 범위로 되돌린다.
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package zerobase.weather.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 레플리카로, 나머지는 프라이머리로 보낸다. 레플리카는 돌아가며 고른다.
+ * 일기가 쓰인 날짜는 트랜잭션이 끝난 뒤 {@code maxLag} 동안 그 날짜를 읽는 요청({@link ReplicaReadScope})만
+ * 프라이머리로 보내, 복제가 따라오기 전의 오래된 데이터를 읽어 캐시에 넣는 일이 없도록 한다.
+ * 읽는 날짜를 알리지 않은 읽기는 일기 쓰기가 끝난 뒤 {@code maxLag} 동안 프라이머리로 보낸다.
+ * 백필 진행 상황이나 저장 요청 키처럼 일기가 아닌 쓰기는 읽기 경로에 영향을 주지 않는다.
+ * 트랜잭션의 읽기 전용 여부가 정해진 뒤에 커넥션을 고를 수 있도록 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> dataSources = new ArrayList<>();
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final long maxLagNanos;
+    private volatile long lastWriteNanos;
+    // 최근 maxLag 안에 일기가 쓰인 날짜. 오래된 항목은 쓰기를 기록할 때 지운다.
+    private final ConcurrentMap<LocalDate, Long> lastWriteNanosByDate = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        dataSources.add(primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targetDataSources.put(key, replicas.get(i));
+            replicaKeys.add(key);
+            dataSources.add(replicas.get(i));
+        }
+        this.maxLagNanos = maxLag.toNanos();
+        this.lastWriteNanos = System.nanoTime() - maxLagNanos;
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || replicaMayBeStale(ReplicaReadScope.current())) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * 일기가 쓰인 날짜를 기록한다. 쓰기 트랜잭션 안에서 부르면 트랜잭션이 끝난 시점부터 maxLag 를 센다.
+     */
+    public void recordWrite(Collection<LocalDate> dates) {
+        long now = System.nanoTime();
+        lastWriteNanosByDate.values().removeIf(writeNanos -> now - writeNanos >= maxLagNanos);
+        dates.forEach(date -> lastWriteNanosByDate.put(date, now));
+        lastWriteNanos = now;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    long completedNanos = System.nanoTime();
+                    dates.forEach(date -> lastWriteNanosByDate.put(date, completedNanos));
+                    lastWriteNanos = completedNanos;
+                }
+            });
+        }
+    }
+
+    private boolean replicaMayBeStale(ReplicaReadScope scope) {
+        long now = System.nanoTime();
+        if (scope == null) {
+            return now - lastWriteNanos < maxLagNanos;
+        }
+        for (Map.Entry<LocalDate, Long> write : lastWriteNanosByDate.entrySet()) {
+            if (scope.contains(write.getKey()) && now - write.getValue() < maxLagNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
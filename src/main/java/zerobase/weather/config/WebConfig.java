@@ -0,0 +1,37 @@
+package zerobase.weather.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// 응답 압축 기본값을 읽어 오고, Accept: application/cbor 요청에 CBOR 로 응답할 수 있게 한다.
+// CBOR 매퍼도 JSON 과 같은 Jackson 설정(날짜 형식, 모듈 등)으로 만든다.
+// Spring 이 기본으로 등록한 CBOR 컨버터가 앞에 있으면 그것이 먼저 쓰이므로, 뒤에 추가하지 않고 그 자리를 바꾼다.
+@Configuration
+@PropertySource({"classpath:compression.properties", "classpath:jpa.properties"})
+public class WebConfig implements WebMvcConfigurer {
+    private final ObjectMapper cborMapper;
+
+    public WebConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter(cborMapper);
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2CborHttpMessageConverter) {
+                converters.set(i, cborConverter);
+                return;
+            }
+        }
+        converters.add(cborConverter);
+    }
+}
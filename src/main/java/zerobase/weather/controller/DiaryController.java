@@ -1,23 +1,67 @@
 package zerobase.weather.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import zerobase.weather.domain.Diary;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import zerobase.weather.dto.CreateDiaries;
+import zerobase.weather.dto.CreateDiary;
+import zerobase.weather.dto.DiaryColumns;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.dto.DiaryPage;
+import zerobase.weather.exception.DiaryException;
 import zerobase.weather.service.DiaryService;
+import zerobase.weather.service.DiaryVersionTracker;
+import zerobase.weather.type.ErrorCode;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+import static zerobase.weather.type.ErrorCode.INTERNAL_SERVER_ERROR;
+import static zerobase.weather.type.ErrorCode.INVALID_REQUEST;
+
 @RestController
+@Profile("!reactive")
 @Tag(name = "Diary", description = "Diary API")
 public class DiaryController {
+    private static final Logger logger = LoggerFactory.getLogger(DiaryController.class);
+
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String DIARY_COLUMNS_JSON_VALUE = "application/vnd.weather.diary-columns+json";
+    private static final int NDJSON_CHUNK_SIZE = 1000;
+
     private final DiaryService diaryService;
+    private final DiaryVersionTracker diaryVersionTracker;
+    private final ObjectMapper objectMapper;
 
-    public DiaryController(DiaryService diaryService) {
+    public DiaryController(DiaryService diaryService,
+                           DiaryVersionTracker diaryVersionTracker,
+                           ObjectMapper objectMapper) {
         this.diaryService = diaryService;
+        this.diaryVersionTracker = diaryVersionTracker;
+        this.objectMapper = objectMapper;
     }
 
 
@@ -27,37 +71,190 @@ public class DiaryController {
             @Parameter(description = "일기의 날짜", example = "2024-02-01")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             LocalDate date,
+            @Parameter(description = "날씨를 조회할 도시 (생략하면 기본 도시)", example = "seoul")
+            @RequestParam(required = false)
+            String city,
             @Parameter(description = "일기 본문", example = "오늘은 Spring 공부를 했다.")
             @RequestBody
             String text
     ) {
-        diaryService.createDiary(date, text);
+        diaryService.createDiary(date, city, text);
     }
 
+    @Operation(summary = "일기 일괄 저장", description = "(date, text, city) 목록을 받아 (날짜, 도시)별로 날씨를 한 번만 조회하고 JDBC 배치로 저장")
+    @PostMapping(value = "/create/diaries", consumes = MediaType.APPLICATION_JSON_VALUE)
+    CreateDiaries.Response createDiaries(
+            @RequestBody
+            List<CreateDiary.Request> requests
+    ) {
+        return new CreateDiaries.Response(diaryService.createDiaries(requests));
+    }
+
+    @Operation(summary = "일기 일괄 저장 (NDJSON)", description = "한 줄에 하나의 (date, text, city) JSON 을 읽어 청크 단위로 저장. "
+            + "중간에 실패하면 커밋된 마지막 줄 번호(committedLine)를 함께 돌려준다")
+    @PostMapping(value = "/create/diaries", consumes = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<CreateDiaries.Response> createDiariesFromNdjson(InputStream body) throws IOException {
+        int createdCount = 0;
+        int lineNumber = 0;
+        int committedLine = 0;
+        List<CreateDiary.Request> chunk = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(readNdjsonLine(line));
+                if (chunk.size() == NDJSON_CHUNK_SIZE) {
+                    createdCount += diaryService.createDiaries(chunk);
+                    committedLine = lineNumber;
+                    chunk = new ArrayList<>();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                createdCount += diaryService.createDiaries(chunk);
+            }
+            committedLine = lineNumber;
+        } catch (RuntimeException e) {
+            // 앞선 청크는 이미 커밋됐으므로, 클라이언트가 이어서 보낼 수 있도록 커밋된 줄까지 알려 준다.
+            return partiallyCreated(createdCount, committedLine, e);
+        }
+        return ResponseEntity.ok(new CreateDiaries.Response(createdCount, committedLine, null, null));
+    }
 
     @Operation(summary = "해당 날짜의 일기 조회", description = "해당 날짜의 모든 일기 데이터를 가져옵니다")
     @GetMapping("/read/diary")
-    List<Diary> readDiary(
+    List<DiaryDto> readDiary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @Parameter(description = "조회할 날짜", example = "2024-02-01")
-            LocalDate date
+            LocalDate date,
+            WebRequest webRequest
     ) {
+        // 해당 날짜의 일기가 바뀌지 않았으면 DB 를 조회하지 않고 304 로 응답한다.
+        diaryService.validateDate(date);
+        if (webRequest.checkNotModified(diaryVersionTracker.getETag(date))) {
+            return null;
+        }
         return diaryService.readDiary(date);
     }
 
     @Operation(summary = "해당 기간의 일기 조회", description = "해당 기간의 모든 일기 데이터를 가져옵니다")
     @GetMapping("/read/diaries")
-    List<Diary> readDiaries(
+    List<DiaryDto> readDiaries(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @Parameter(description = "조회할 기간의 첫 번째 날", example = "2024-02-01")
             LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @Parameter(description = "조회할 기간의 마지막 날", example = "2024-02-29")
-            LocalDate endDate
+            LocalDate endDate,
+            WebRequest webRequest,
+            HttpServletResponse response
     ) {
+        diaryService.validateDateRange(startDate, endDate);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (webRequest.checkNotModified(diaryVersionTracker.getETag(startDate, endDate))) {
+            return null;
+        }
         return diaryService.readDiaries(startDate, endDate);
     }
 
+    @Operation(summary = "해당 기간의 일기 조회 (열 단위 JSON)",
+            description = "해당 기간의 일기를 열 단위 JSON 으로 가져옵니다. 같은 날짜, 도시의 날씨는 한 번만 담습니다")
+    @GetMapping(value = "/read/diaries", produces = DIARY_COLUMNS_JSON_VALUE)
+    DiaryColumns readDiaryColumns(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 첫 번째 날", example = "2024-02-01")
+            LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 마지막 날", example = "2024-02-29")
+            LocalDate endDate,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) {
+        return readDiaryColumns(startDate, endDate, "columns-json", webRequest, response);
+    }
+
+    @Operation(summary = "해당 기간의 일기 조회 (CBOR)",
+            description = "열 단위 JSON 과 같은 내용을 CBOR 로 가져옵니다")
+    @GetMapping(value = "/read/diaries", produces = MediaType.APPLICATION_CBOR_VALUE)
+    DiaryColumns readDiaryColumnsAsCbor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 첫 번째 날", example = "2024-02-01")
+            LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 마지막 날", example = "2024-02-29")
+            LocalDate endDate,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) {
+        return readDiaryColumns(startDate, endDate, "columns-cbor", webRequest, response);
+    }
+
+    // 응답 형식마다 ETag 를 달리해, 한 형식으로 받은 ETag 로 다른 형식의 304 를 받지 않게 한다.
+    private DiaryColumns readDiaryColumns(LocalDate startDate, LocalDate endDate, String representation,
+                                          WebRequest webRequest, HttpServletResponse response) {
+        diaryService.validateDateRange(startDate, endDate);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (webRequest.checkNotModified(diaryVersionTracker.getETag(startDate, endDate, representation))) {
+            return null;
+        }
+        return DiaryColumns.from(diaryService.readDiaries(startDate, endDate));
+    }
+
+    @Operation(summary = "해당 기간의 일기 페이지 조회", description = "(date, id) 키셋 기준으로 해당 기간의 일기를 페이지 단위로 가져옵니다")
+    @GetMapping("/read/diaries/page")
+    DiaryPage readDiaryPage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 첫 번째 날", example = "2024-02-01")
+            LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 마지막 날", example = "2024-02-29")
+            LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "이전 페이지 응답의 nextAfterDate")
+            LocalDate afterDate,
+            @RequestParam(defaultValue = "0")
+            @Parameter(description = "이전 페이지 응답의 nextAfterId")
+            int afterId,
+            @RequestParam(defaultValue = "100")
+            @Parameter(description = "페이지 크기 (최대 1000)")
+            int size
+    ) {
+        return diaryService.readDiaryPage(startDate, endDate, afterDate, afterId, size);
+    }
+
+    @Operation(summary = "해당 기간의 일기 스트리밍 조회", description = "해당 기간의 모든 일기를 NDJSON 으로 스트리밍합니다")
+    @GetMapping(value = "/read/diaries/stream", produces = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamDiaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 첫 번째 날", example = "2024-02-01")
+            LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 마지막 날", example = "2024-02-29")
+            LocalDate endDate
+    ) {
+        // 스트리밍이 시작된 뒤에는 오류 응답을 보낼 수 없으므로 기간 검증은 먼저 한다.
+        diaryService.validateDateRange(startDate, endDate);
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                diaryService.streamDiaries(startDate, endDate, diary -> {
+                    try {
+                        writer.write(diary);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
     @Operation(summary = "일기 수정", description = "해당 날짜의 첫 번째 일기를 수정합니다.")
     @PutMapping("/update/diary")
     void updateDiary(
@@ -80,4 +277,30 @@ public class DiaryController {
     ) {
         diaryService.deleteDiary(date);
     }
+
+    // GlobalExceptionHandler 와 같은 기준으로 상태 코드와 오류 코드를 고른다.
+    private static ResponseEntity<CreateDiaries.Response> partiallyCreated(int createdCount, int committedLine,
+                                                                           RuntimeException e) {
+        ErrorCode errorCode;
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        if (e instanceof DiaryException diaryException) {
+            errorCode = diaryException.getErrorCode();
+        } else if (e instanceof DataIntegrityViolationException) {
+            errorCode = INVALID_REQUEST;
+        } else {
+            errorCode = INTERNAL_SERVER_ERROR;
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        logger.error("NDJSON diary import failed after line {}: {}", committedLine, e.getMessage(), e);
+        return ResponseEntity.status(status).body(
+                new CreateDiaries.Response(createdCount, committedLine, errorCode, errorCode.getDescription()));
+    }
+
+    private CreateDiary.Request readNdjsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, CreateDiary.Request.class);
+        } catch (JsonProcessingException e) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+    }
 }
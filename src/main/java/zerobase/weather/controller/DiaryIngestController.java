@@ -0,0 +1,55 @@
+package zerobase.weather.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import zerobase.weather.dto.DiaryIngest;
+import zerobase.weather.service.DiaryIngestService;
+
+import java.time.LocalDate;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "weather.ingest.async.enabled", havingValue = "true")
+@Tag(name = "Diary", description = "Diary API")
+public class DiaryIngestController {
+    private final DiaryIngestService diaryIngestService;
+
+    public DiaryIngestController(DiaryIngestService diaryIngestService) {
+        this.diaryIngestService = diaryIngestService;
+    }
+
+    @Operation(summary = "일기 비동기 저장", description = "요청을 대기열에 기록하고 바로 응답합니다. 저장은 백그라운드에서 배치로 처리됩니다")
+    @PostMapping("/create/diary/async")
+    ResponseEntity<DiaryIngest.Response> createDiaryAsync(
+            @Parameter(description = "같은 키로 다시 보낸 요청은 한 번만 저장됩니다 (최대 64자)")
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            String idempotencyKey,
+            @Parameter(description = "일기의 날짜", example = "2024-02-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date,
+            @Parameter(description = "날씨를 조회할 도시 (생략하면 기본 도시)", example = "seoul")
+            @RequestParam(required = false)
+            String city,
+            @Parameter(description = "일기 본문", example = "오늘은 Spring 공부를 했다.")
+            @RequestBody
+            String text
+    ) {
+        return ResponseEntity.accepted().body(diaryIngestService.accept(idempotencyKey, date, city, text));
+    }
+
+    @Operation(summary = "일기 비동기 저장 상태 조회", description = "QUEUED, PERSISTED, FAILED 중 하나를 반환합니다")
+    @GetMapping("/create/diary/async/{idempotencyKey}")
+    DiaryIngest.Response getDiaryAsyncStatus(
+            @PathVariable
+            @Parameter(description = "저장 요청 시 받은 Idempotency-Key")
+            String idempotencyKey
+    ) {
+        return diaryIngestService.getStatus(idempotencyKey);
+    }
+}
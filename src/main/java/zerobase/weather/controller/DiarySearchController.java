@@ -0,0 +1,50 @@
+package zerobase.weather.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weather.dto.DiarySearchResult;
+import zerobase.weather.service.DiarySearchService;
+
+import java.time.LocalDate;
+
+@RestController
+@Profile("!reactive")
+@Tag(name = "Search", description = "일기 검색 API")
+public class DiarySearchController {
+    private final DiarySearchService diarySearchService;
+
+    public DiarySearchController(DiarySearchService diarySearchService) {
+        this.diarySearchService = diarySearchService;
+    }
+
+    @Operation(summary = "일기 본문 검색", description = "일기 본문에서 검색어를 찾아 관련도 순으로 가져옵니다")
+    @GetMapping("/read/diaries/search")
+    DiarySearchResult searchDiaries(
+            @RequestParam
+            @Parameter(description = "검색어 (모든 단어를 포함한 일기를 찾습니다)", example = "산책")
+            String keyword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "검색할 기간의 첫 번째 날", example = "2024-02-01")
+            LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "검색할 기간의 마지막 날", example = "2024-02-29")
+            LocalDate endDate,
+            @RequestParam(required = false)
+            @Parameter(description = "날씨", example = "Clear")
+            String weather,
+            @RequestParam(defaultValue = "0")
+            @Parameter(description = "페이지 번호 (0부터)")
+            int page,
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "페이지 크기 (최대 100)")
+            int size
+    ) {
+        return diarySearchService.search(keyword, startDate, endDate, weather, page, size);
+    }
+}
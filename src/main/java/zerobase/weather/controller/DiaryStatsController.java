@@ -0,0 +1,78 @@
+package zerobase.weather.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weather.dto.DiaryStatDto;
+import zerobase.weather.dto.WeatherStatDto;
+import zerobase.weather.service.DiaryService;
+import zerobase.weather.service.DiaryStatsService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/read/stats")
+@Tag(name = "Stats", description = "일기/날씨 통계 API")
+public class DiaryStatsController {
+    private final DiaryService diaryService;
+    private final DiaryStatsService diaryStatsService;
+
+    public DiaryStatsController(DiaryService diaryService, DiaryStatsService diaryStatsService) {
+        this.diaryService = diaryService;
+        this.diaryStatsService = diaryStatsService;
+    }
+
+    @Operation(summary = "일별 일기 통계", description = "기간 내 날짜, 날씨별 일기 수와 평균 기온을 가져옵니다")
+    @GetMapping("/daily")
+    List<DiaryStatDto> getDailyStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 첫 번째 날", example = "2024-02-01")
+            LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "조회할 기간의 마지막 날", example = "2024-02-29")
+            LocalDate endDate
+    ) {
+        diaryService.validateDateRange(startDate, endDate);
+        return diaryStatsService.getDailyStats(startDate, endDate);
+    }
+
+    @Operation(summary = "월별 일기 통계", description = "기간 내 월, 날씨별 일기 수와 평균 기온을 가져옵니다")
+    @GetMapping("/monthly")
+    List<DiaryStatDto> getMonthlyStats(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM")
+            @Parameter(description = "조회할 기간의 첫 번째 달", example = "2024-01")
+            YearMonth startMonth,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM")
+            @Parameter(description = "조회할 기간의 마지막 달", example = "2024-12")
+            YearMonth endMonth
+    ) {
+        diaryService.validateDateRange(startMonth.atDay(1), endMonth.atEndOfMonth());
+        return diaryStatsService.getMonthlyStats(startMonth, endMonth);
+    }
+
+    @Operation(summary = "월별 날씨 통계", description = "도시의 월, 날씨별 일수와 평균 기온을 가져옵니다")
+    @GetMapping("/weather")
+    List<WeatherStatDto> getWeatherStats(
+            @RequestParam(required = false)
+            @Parameter(description = "도시 (생략하면 기본 도시)", example = "seoul")
+            String city,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM")
+            @Parameter(description = "조회할 기간의 첫 번째 달", example = "2024-01")
+            YearMonth startMonth,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM")
+            @Parameter(description = "조회할 기간의 마지막 달", example = "2024-12")
+            YearMonth endMonth
+    ) {
+        diaryService.validateDateRange(startMonth.atDay(1), endMonth.atEndOfMonth());
+        return diaryStatsService.getWeatherStats(diaryService.normalizeCity(city), startMonth, endMonth);
+    }
+}
@@ -0,0 +1,73 @@
+package zerobase.weather.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.service.DiaryService;
+import zerobase.weather.service.ReactiveDiaryService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// reactive 프로필에서 DiaryController 대신 같은 경로를 WebFlux 로 제공한다.
+@RestController
+@Profile("reactive")
+public class ReactiveDiaryController {
+    private final ReactiveDiaryService reactiveDiaryService;
+    private final DiaryService diaryService;
+
+    public ReactiveDiaryController(ReactiveDiaryService reactiveDiaryService,
+                                   DiaryService diaryService) {
+        this.reactiveDiaryService = reactiveDiaryService;
+        this.diaryService = diaryService;
+    }
+
+    @PostMapping("/create/diary")
+    Mono<Void> createDiary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date,
+            @RequestParam(required = false)
+            String city,
+            @RequestBody
+            String text
+    ) {
+        return reactiveDiaryService.createDiary(date, city, text);
+    }
+
+    @GetMapping("/read/diary")
+    Mono<List<DiaryDto>> readDiary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date,
+            ServerWebExchange exchange
+    ) {
+        // 해당 날짜의 일기가 바뀌지 않았으면 DB 를 조회하지 않고 304 로 응답한다.
+        diaryService.validateDate(date);
+        return reactiveDiaryService.getETag(date)
+                .flatMap(eTag -> exchange.checkNotModified(eTag)
+                        ? Mono.empty()
+                        : reactiveDiaryService.readDiary(date));
+    }
+
+    @GetMapping("/read/diaries")
+    Flux<DiaryDto> readDiaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate endDate,
+            ServerWebExchange exchange
+    ) {
+        diaryService.validateDateRange(startDate, endDate);
+        return reactiveDiaryService.getETag(startDate, endDate)
+                .flatMapMany(eTag -> exchange.checkNotModified(eTag)
+                        ? Flux.empty()
+                        : reactiveDiaryService.readDiaries(startDate, endDate));
+    }
+}
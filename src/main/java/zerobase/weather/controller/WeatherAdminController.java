@@ -0,0 +1,51 @@
+package zerobase.weather.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import zerobase.weather.dto.BackfillJobDto;
+import zerobase.weather.service.WeatherBackfillService;
+
+import java.time.LocalDate;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/admin/weather")
+@Tag(name = "Weather Admin", description = "날씨 데이터 관리 API")
+public class WeatherAdminController {
+    private final WeatherBackfillService weatherBackfillService;
+
+    public WeatherAdminController(WeatherBackfillService weatherBackfillService) {
+        this.weatherBackfillService = weatherBackfillService;
+    }
+
+    @Operation(summary = "날씨 데이터 백필 시작", description = "기간 내 date_weather 에 빠진 날짜를 찾아 병렬로 채웁니다")
+    @PostMapping("/backfill")
+    ResponseEntity<BackfillJobDto> startBackfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "백필 기간의 첫 번째 날", example = "2024-02-01")
+            LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "백필 기간의 마지막 날", example = "2024-02-29")
+            LocalDate endDate,
+            @RequestParam(required = false)
+            @Parameter(description = "도시 (생략하면 기본 도시)", example = "seoul")
+            String city
+    ) {
+        return ResponseEntity.accepted().body(weatherBackfillService.startBackfill(startDate, endDate, city));
+    }
+
+    @Operation(summary = "날씨 데이터 백필 진행 상황", description = "백필 작업의 상태와 처리한 날짜 수, 체크포인트를 가져옵니다")
+    @GetMapping("/backfill/{jobId}")
+    BackfillJobDto getBackfill(
+            @PathVariable
+            @Parameter(description = "백필 작업 id")
+            long jobId
+    ) {
+        return weatherBackfillService.getBackfill(jobId);
+    }
+}
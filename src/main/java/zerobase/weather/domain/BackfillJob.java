@@ -0,0 +1,39 @@
+package zerobase.weather.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import zerobase.weather.type.BackfillStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "weather_backfill_job")
+@Schema(description = "날씨 데이터 백필 작업")
+public class BackfillJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String city;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    @Enumerated(EnumType.STRING)
+    private BackfillStatus status;
+    private int totalCount;
+    private int completedCount;
+    private int failedCount;
+    // 이 날짜까지는 모두 처리(성공 또는 재시도 소진)되었으므로 재시작 시 다음 날부터 이어서 진행한다.
+    private LocalDate checkpointDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
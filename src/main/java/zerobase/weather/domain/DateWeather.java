@@ -3,6 +3,8 @@ package zerobase.weather.domain;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,16 +14,25 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity(name = "date_weather")
+@IdClass(DateWeatherId.class)
 @NoArgsConstructor
 @Schema(description = "날씨 정보 캐시 데이터")
 public class DateWeather {
     @Id
     @Schema(description = "날짜")
     private LocalDate date;
+    @Id
+    @Schema(description = "도시")
+    private String city;
     @Schema(description = "날씨")
     private String weather;
     @Schema(description = "아이콘")
     private String icon;
     @Schema(description = "기온")
     private double temperature;
+    // 날씨 API 장애로 가장 최근에 저장된 값을 대신 사용한 경우 true.
+    // date_weather 에 저장하거나 캐시하지 않고, 이 날씨로 쓴 일기의 weatherStale 로만 남긴다.
+    @Transient
+    @Schema(description = "API 장애로 최근 값을 대신 사용했는지 여부")
+    private boolean stale;
 }
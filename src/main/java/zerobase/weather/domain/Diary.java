@@ -6,6 +6,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -15,6 +17,7 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "diary")
+@Table(name = "diary", indexes = @Index(name = "idx_diary_date_id", columnList = "date, id"))
 @Builder
 @Schema(description = "날씨 일기 데이터")
 public class Diary {
@@ -32,6 +35,10 @@ public class Diary {
     private String text;
     @Schema(description = "날짜")
     private LocalDate date;
+    @Schema(description = "도시")
+    private String city;
+    @Schema(description = "날씨 API 장애로 해당 도시의 최근 날씨를 대신 사용했는지 여부")
+    private boolean weatherStale;
 
     @Hidden
     public void setDateWeather(DateWeather dateWeather) {
@@ -39,5 +46,7 @@ public class Diary {
         this.weather = dateWeather.getWeather();
         this.icon = dateWeather.getIcon();
         this.temperature = dateWeather.getTemperature();
+        this.city = dateWeather.getCity();
+        this.weatherStale = dateWeather.isStale();
     }
 }
@@ -0,0 +1,55 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import zerobase.weather.domain.BackfillJob;
+import zerobase.weather.type.BackfillStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "날씨 데이터 백필 작업 진행 상황")
+public class BackfillJobDto {
+    @Schema(description = "작업 id")
+    private long id;
+    @Schema(description = "도시")
+    private String city;
+    @Schema(description = "백필 기간의 첫 번째 날")
+    private LocalDate startDate;
+    @Schema(description = "백필 기간의 마지막 날")
+    private LocalDate endDate;
+    @Schema(description = "상태")
+    private BackfillStatus status;
+    @Schema(description = "채워야 할 날짜 수")
+    private int totalCount;
+    @Schema(description = "채운 날짜 수")
+    private int completedCount;
+    @Schema(description = "재시도 후에도 실패한 날짜 수")
+    private int failedCount;
+    @Schema(description = "이 날짜까지는 처리가 끝났음")
+    private LocalDate checkpointDate;
+    @Schema(description = "마지막으로 진행 상황이 갱신된 시각")
+    private LocalDateTime updatedAt;
+
+    public static BackfillJobDto from(BackfillJob job) {
+        return BackfillJobDto.builder()
+                .id(job.getId())
+                .city(job.getCity())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .status(job.getStatus())
+                .totalCount(job.getTotalCount())
+                .completedCount(job.getCompletedCount())
+                .failedCount(job.getFailedCount())
+                .checkpointDate(job.getCheckpointDate())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
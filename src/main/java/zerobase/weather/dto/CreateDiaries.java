@@ -0,0 +1,27 @@
+package zerobase.weather.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import zerobase.weather.type.ErrorCode;
+
+public class CreateDiaries {
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Response {
+        private int createdCount;
+        // NDJSON 요청에서 커밋까지 끝난 마지막 줄 번호. 중간에 실패하면 다음 줄부터 다시 보내면 된다.
+        private Integer committedLine;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public Response(int createdCount) {
+            this.createdCount = createdCount;
+        }
+    }
+}
@@ -19,6 +19,7 @@ public class CreateDiary {
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
         private LocalDate date;
         private String text;
+        private String city;
     }
 
     public static class Response {
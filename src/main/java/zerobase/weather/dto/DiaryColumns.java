@@ -0,0 +1,68 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 기간 조회 응답을 열 단위로 담는다. 같은 (날짜, 도시)의 날씨는 weathers 에 한 번만 넣고 각 일기는 그 위치만 가리킨다.
+@Getter
+@AllArgsConstructor
+@Schema(description = "열 단위로 인코딩한 일기 목록")
+public class DiaryColumns {
+    @Schema(description = "(날짜, 도시)별 날씨 사전")
+    private List<Weather> weathers;
+    @Schema(description = "일기 id")
+    private int[] ids;
+    @Schema(description = "각 일기의 날씨가 weathers 의 몇 번째 항목인지")
+    private int[] weatherIndexes;
+    @Schema(description = "일기 본문")
+    private String[] texts;
+
+    public static DiaryColumns from(List<DiaryDto> diaries) {
+        List<Weather> weathers = new ArrayList<>();
+        Map<Weather, Integer> weatherIndexByValue = new HashMap<>();
+        int[] ids = new int[diaries.size()];
+        int[] weatherIndexes = new int[diaries.size()];
+        String[] texts = new String[diaries.size()];
+        for (int i = 0; i < diaries.size(); i++) {
+            DiaryDto diary = diaries.get(i);
+            Weather weather = new Weather(diary.getDate(), diary.getCity(),
+                    diary.getWeather(), diary.getIcon(), diary.getTemperature(), diary.isWeatherStale());
+            Integer index = weatherIndexByValue.putIfAbsent(weather, weathers.size());
+            if (index == null) {
+                index = weathers.size();
+                weathers.add(weather);
+            }
+            ids[i] = diary.getId();
+            weatherIndexes[i] = index;
+            texts[i] = diary.getText();
+        }
+        return new DiaryColumns(weathers, ids, weatherIndexes, texts);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @Schema(description = "날짜, 도시별 날씨")
+    public static class Weather {
+        @Schema(description = "날짜")
+        private LocalDate date;
+        @Schema(description = "도시")
+        private String city;
+        @Schema(description = "날씨")
+        private String weather;
+        @Schema(description = "아이콘")
+        private String icon;
+        @Schema(description = "기온")
+        private double temperature;
+        @Schema(description = "날씨 API 장애로 해당 도시의 최근 날씨를 대신 사용했는지 여부")
+        private boolean weatherStale;
+    }
+}
@@ -0,0 +1,34 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 조회 전용 프로젝션. JPQL 생성자 표현식에서 쓰이므로 필드 순서를 바꾸지 않는다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "날씨 일기 데이터")
+public class DiaryDto {
+    @Schema(description = "id")
+    private int id;
+    @Schema(description = "날씨")
+    private String weather;
+    @Schema(description = "아이콘")
+    private String icon;
+    @Schema(description = "기온")
+    private double temperature;
+    @Schema(description = "일기 본문")
+    private String text;
+    @Schema(description = "날짜")
+    private LocalDate date;
+    @Schema(description = "도시")
+    private String city;
+    @Schema(description = "날씨 API 장애로 해당 도시의 최근 날씨를 대신 사용했는지 여부")
+    private boolean weatherStale;
+}
@@ -0,0 +1,22 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import zerobase.weather.type.IngestStatus;
+
+public class DiaryIngest {
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "비동기 일기 저장 요청 상태")
+    public static class Response {
+        @Schema(description = "요청의 Idempotency-Key (헤더로 주지 않았으면 서버가 생성)")
+        private String idempotencyKey;
+        @Schema(description = "처리 상태")
+        private IngestStatus status;
+    }
+}
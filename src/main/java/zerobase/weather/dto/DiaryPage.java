@@ -0,0 +1,20 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "키셋 페이지네이션 일기 목록")
+public class DiaryPage {
+    @Schema(description = "일기 목록")
+    private List<DiaryDto> diaries;
+    @Schema(description = "다음 페이지 요청 시 afterDate 로 전달할 값 (마지막 페이지면 null)")
+    private LocalDate nextAfterDate;
+    @Schema(description = "다음 페이지 요청 시 afterId 로 전달할 값 (마지막 페이지면 null)")
+    private Integer nextAfterId;
+}
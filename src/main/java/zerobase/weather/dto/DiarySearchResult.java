@@ -0,0 +1,21 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "일기 검색 결과")
+public class DiarySearchResult {
+    @Schema(description = "관련도 순 일기 목록")
+    private List<DiaryDto> diaries;
+    @Schema(description = "조건에 맞는 전체 일기 수")
+    private long totalCount;
+    @Schema(description = "페이지 번호 (0부터)")
+    private int page;
+    @Schema(description = "페이지 크기")
+    private int size;
+}
@@ -0,0 +1,23 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "기간, 날씨별 일기 통계")
+public class DiaryStatDto {
+    @Schema(description = "집계 기간의 첫 날 (일별이면 해당 날짜, 월별이면 그 달의 1일)")
+    private LocalDate periodStart;
+    @Schema(description = "날씨 (날씨가 없는 일기는 빈 문자열)")
+    private String weather;
+    @Schema(description = "일기 수")
+    private long diaryCount;
+    @Schema(description = "평균 기온")
+    private double averageTemperature;
+}
@@ -0,0 +1,25 @@
+package zerobase.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "월, 도시, 날씨별 날씨 관측 통계")
+public class WeatherStatDto {
+    @Schema(description = "그 달의 1일")
+    private LocalDate monthStart;
+    @Schema(description = "도시")
+    private String city;
+    @Schema(description = "날씨")
+    private String weather;
+    @Schema(description = "관측된 날 수")
+    private long dayCount;
+    @Schema(description = "평균 기온")
+    private double averageTemperature;
+}
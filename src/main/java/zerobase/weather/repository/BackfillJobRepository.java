@@ -0,0 +1,32 @@
+package zerobase.weather.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import zerobase.weather.domain.BackfillJob;
+import zerobase.weather.type.BackfillStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long> {
+    List<BackfillJob> findAllByStatus(BackfillStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE weather_backfill_job j SET j.status = :status, j.totalCount = :totalCount, "
+            + "j.completedCount = :completedCount, j.failedCount = :failedCount, "
+            + "j.checkpointDate = :checkpointDate, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int updateProgress(@Param("id") long id,
+                       @Param("status") BackfillStatus status,
+                       @Param("totalCount") int totalCount,
+                       @Param("completedCount") int completedCount,
+                       @Param("failedCount") int failedCount,
+                       @Param("checkpointDate") LocalDate checkpointDate,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+}
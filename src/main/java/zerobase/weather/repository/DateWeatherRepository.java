@@ -1,13 +1,63 @@
 package zerobase.weather.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.DateWeatherId;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface DateWeatherRepository extends JpaRepository<DateWeather, LocalDate> {
-    List<DateWeather> findAllByDate(LocalDate date);
+public interface DateWeatherRepository extends JpaRepository<DateWeather, DateWeatherId> {
+    Optional<DateWeather> findByDateAndCity(LocalDate date, String city);
+
+    // 오늘까지의 날씨 중 가장 최근 것. 날씨 API 장애 시 대신 쓴다.
+    Optional<DateWeather> findFirstByCityAndDateLessThanEqualOrderByDateDesc(String city, LocalDate date);
+
+    @Query("SELECT d.date FROM date_weather d WHERE d.city = :city AND d.date BETWEEN :startDate AND :endDate")
+    List<LocalDate> findDatesByCityAndDateBetween(@Param("city") String city,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    // (날짜, 도시) PK 충돌 시 최신 값으로 덮어쓰므로 동시에 저장해도 중복 키 오류가 나지 않는다.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO date_weather (date, city, weather, icon, temperature) "
+            + "VALUES (:date, :city, :weather, :icon, :temperature) "
+            + "ON DUPLICATE KEY UPDATE weather = VALUES(weather), icon = VALUES(icon), "
+            + "temperature = VALUES(temperature)",
+            nativeQuery = true)
+    int upsert(@Param("date") LocalDate date,
+               @Param("city") String city,
+               @Param("weather") String weather,
+               @Param("icon") String icon,
+               @Param("temperature") double temperature);
+
+    // 새로 들어가면 1, 이미 있으면 0 을 반환한다.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO date_weather (date, city, weather, icon, temperature) "
+            + "VALUES (:date, :city, :weather, :icon, :temperature)",
+            nativeQuery = true)
+    int insertIgnore(@Param("date") LocalDate date,
+                     @Param("city") String city,
+                     @Param("weather") String weather,
+                     @Param("icon") String icon,
+                     @Param("temperature") double temperature);
+
+    default int insertIgnore(DateWeather dateWeather) {
+        return insertIgnore(dateWeather.getDate(), dateWeather.getCity(), dateWeather.getWeather(),
+                dateWeather.getIcon(), dateWeather.getTemperature());
+    }
+
+    default void upsert(DateWeather dateWeather) {
+        upsert(dateWeather.getDate(), dateWeather.getCity(), dateWeather.getWeather(),
+                dateWeather.getIcon(), dateWeather.getTemperature());
+    }
 }
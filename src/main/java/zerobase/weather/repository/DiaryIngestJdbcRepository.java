@@ -0,0 +1,54 @@
+package zerobase.weather.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import zerobase.weather.type.IngestStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+public class DiaryIngestJdbcRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO diary_ingest (ingest_key, status, created_at) VALUES (:key, :status, :createdAt)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public DiaryIngestJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Set<String> findExistingKeys(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT ingest_key FROM diary_ingest WHERE ingest_key IN (:keys)",
+                Map.of("keys", keys), String.class));
+    }
+
+    public Optional<IngestStatus> findStatus(String key) {
+        List<String> statuses = jdbcTemplate.queryForList(
+                "SELECT status FROM diary_ingest WHERE ingest_key = :key",
+                Map.of("key", key), String.class);
+        return statuses.stream().findFirst().map(IngestStatus::valueOf);
+    }
+
+    public void batchInsert(Collection<String> keys, IngestStatus status) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        MapSqlParameterSource[] params = keys.stream()
+                .map(key -> new MapSqlParameterSource()
+                        .addValue("key", key)
+                        .addValue("status", status.name())
+                        .addValue("createdAt", now))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, params);
+    }
+}
@@ -0,0 +1,54 @@
+package zerobase.weather.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import zerobase.weather.domain.Diary;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.util.List;
+
+// IDENTITY 전략 때문에 Hibernate 배치가 동작하지 않으므로 대량 저장은 JDBC 배치로 처리한다.
+// MySQL 에서는 rewriteBatchedStatements=true 옵션을 주면 multi-row INSERT 로 전송된다.
+@Repository
+public class DiaryJdbcRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO diary (date, city, weather, icon, temperature, text, weather_stale) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer batchInsertTimer;
+
+    public DiaryJdbcRepository(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchInsertTimer = Timer.builder("diary.jdbc.batch-insert")
+                .description("일기 JDBC 배치 저장 시간")
+                .register(meterRegistry);
+    }
+
+    public int batchInsert(List<Diary> diaries, int batchSize) {
+        return batchInsertTimer.record(() -> doBatchInsert(diaries, batchSize));
+    }
+
+    private int doBatchInsert(List<Diary> diaries, int batchSize) {
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, diaries, batchSize, (ps, diary) -> {
+            ps.setDate(1, Date.valueOf(diary.getDate()));
+            ps.setString(2, diary.getCity());
+            ps.setString(3, diary.getWeather());
+            ps.setString(4, diary.getIcon());
+            ps.setDouble(5, diary.getTemperature());
+            ps.setString(6, diary.getText());
+            ps.setBoolean(7, diary.isWeatherStale());
+        });
+
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // rewriteBatchedStatements 사용 시 드라이버가 SUCCESS_NO_INFO 를 돌려준다.
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+}
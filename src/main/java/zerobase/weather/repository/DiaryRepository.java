@@ -1,19 +1,74 @@
 package zerobase.weather.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import zerobase.weather.domain.Diary;
+import zerobase.weather.dto.DiaryDto;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+// 조회 쿼리는 DiaryDto 로 바로 프로젝션해 엔티티를 영속성 컨텍스트에 올리지 않는다.
 @Repository
 public interface DiaryRepository extends JpaRepository<Diary, Integer> {
-    List<Diary> findAllByDate(LocalDate date);
+    String DIARY_DTO = "new zerobase.weather.dto.DiaryDto(d.id, d.weather, d.icon, d.temperature, d.text, d.date, d.city, "
+            + "d.weatherStale)";
+
+    @Query("SELECT " + DIARY_DTO + " FROM diary d WHERE d.date = :date ORDER BY d.id")
+    List<DiaryDto> findDtosByDate(@Param("date") LocalDate date);
+
+    @Query("SELECT " + DIARY_DTO + " FROM diary d "
+            + "WHERE d.date BETWEEN :startDate AND :endDate ORDER BY d.date, d.id")
+    List<DiaryDto> findDtosByDateBetween(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    // (date, id) 이후의 행만 읽는 키셋 페이지네이션
+    @Query("SELECT " + DIARY_DTO + " FROM diary d "
+            + "WHERE d.date BETWEEN :startDate AND :endDate "
+            + "AND (d.date > :afterDate OR (d.date = :afterDate AND d.id > :afterId)) "
+            + "ORDER BY d.date, d.id")
+    List<DiaryDto> findDtoPageAfter(@Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate,
+                                    @Param("afterDate") LocalDate afterDate,
+                                    @Param("afterId") int afterId,
+                                    Pageable pageable);
+
+    // MySQL 에서는 useCursorFetch=true 옵션이 있어야 fetch size 단위로 커서를 읽는다.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + DIARY_DTO + " FROM diary d "
+            + "WHERE d.date BETWEEN :startDate AND :endDate ORDER BY d.date, d.id")
+    Stream<DiaryDto> streamDtosByDateBetween(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    // (date, id) 인덱스만으로 답할 수 있어 행을 읽지 않는다.
+    @Query("SELECT MIN(d.id) FROM diary d WHERE d.date = :date")
+    Integer findFirstIdByDate(@Param("date") LocalDate date);
+
+    // 일기가 없으면 null. (date, id) 인덱스의 양 끝만 읽는다.
+    @Query("SELECT MIN(d.date) FROM diary d")
+    LocalDate findMinDate();
 
-    List<Diary> findAllByDateBetween(LocalDate startDate, LocalDate endDate);
+    @Query("SELECT MAX(d.date) FROM diary d")
+    LocalDate findMaxDate();
 
-    Diary getFirstByDate(LocalDate date);
+    @Transactional
+    @Modifying
+    @Query("UPDATE diary d SET d.text = :text WHERE d.id = :id")
+    int updateTextById(@Param("id") int id, @Param("text") String text);
 
-    void deleteAllByDate(LocalDate date);
+    // 파생 deleteAllByDate 는 엔티티를 모두 읽어 한 건씩 지우므로 한 번의 DELETE 문으로 처리한다.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM diary d WHERE d.date = :date")
+    int deleteAllByDateInBulk(@Param("date") LocalDate date);
 }
@@ -0,0 +1,143 @@
+package zerobase.weather.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import zerobase.weather.dto.DiaryStatDto;
+import zerobase.weather.dto.WeatherStatDto;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+// 통계 롤업 테이블. 값을 더하는 upsert 로 갱신하므로 동시에 저장해도 집계가 어긋나지 않는다.
+@Repository
+public class DiaryStatsJdbcRepository {
+    static final String ADD_DAILY_SQL =
+            "INSERT INTO diary_daily_stat (stat_date, weather, diary_count, temperature_sum) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE diary_count = diary_count + VALUES(diary_count), "
+                    + "temperature_sum = temperature_sum + VALUES(temperature_sum)";
+    static final String ADD_MONTHLY_SQL =
+            "INSERT INTO diary_monthly_stat (month_start, weather, diary_count, temperature_sum) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE diary_count = diary_count + VALUES(diary_count), "
+                    + "temperature_sum = temperature_sum + VALUES(temperature_sum)";
+    static final String ADD_WEATHER_SQL =
+            "INSERT INTO weather_monthly_stat (month_start, city, weather, day_count, temperature_sum) "
+                    + "VALUES (?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE day_count = day_count + VALUES(day_count), "
+                    + "temperature_sum = temperature_sum + VALUES(temperature_sum)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DiaryStatsJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addDaily(SortedMap<StatKey, StatDelta> deltas) {
+        batchAdd(ADD_DAILY_SQL, deltas);
+    }
+
+    public void addMonthly(SortedMap<StatKey, StatDelta> deltas) {
+        batchAdd(ADD_MONTHLY_SQL, deltas);
+    }
+
+    public void addWeather(String city, SortedMap<StatKey, StatDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_WEATHER_SQL, new ArrayList<>(deltas.entrySet()), deltas.size(), (ps, delta) -> {
+            ps.setDate(1, Date.valueOf(delta.getKey().periodStart()));
+            ps.setString(2, city);
+            ps.setString(3, delta.getKey().weather());
+            ps.setLong(4, delta.getValue().count());
+            ps.setDouble(5, delta.getValue().temperatureSum());
+        });
+    }
+
+    // 덮어쓸 날씨 행을 잠가 두어, 동시에 같은 날을 덮어써도 이전 값을 두 번 빼지 않게 한다.
+    public Optional<Map.Entry<String, Double>> lockDateWeather(LocalDate date, String city) {
+        return jdbcTemplate.query("SELECT weather, temperature FROM date_weather WHERE date = ? AND city = ? FOR UPDATE",
+                        (rs, rowNum) -> Map.entry(nullToEmpty(rs.getString("weather")), rs.getDouble("temperature")),
+                        Date.valueOf(date), city)
+                .stream()
+                .findFirst();
+    }
+
+    // 삭제할 일기를 잠가 두어, 삭제가 커밋될 때까지 같은 날짜에 새 일기가 끼어들지 못하게 한다.
+    public List<Map.Entry<String, Double>> lockDiaryWeatherByDate(LocalDate date) {
+        return jdbcTemplate.query("SELECT weather, temperature FROM diary WHERE date = ? FOR UPDATE",
+                (rs, rowNum) -> Map.entry(nullToEmpty(rs.getString("weather")), rs.getDouble("temperature")),
+                Date.valueOf(date));
+    }
+
+    public void deleteDaily(LocalDate date) {
+        jdbcTemplate.update("DELETE FROM diary_daily_stat WHERE stat_date = ?", Date.valueOf(date));
+    }
+
+    public List<DiaryStatDto> findDaily(LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.query("SELECT stat_date, weather, diary_count, temperature_sum FROM diary_daily_stat "
+                        + "WHERE stat_date BETWEEN ? AND ? AND diary_count > 0 ORDER BY stat_date, weather",
+                (rs, rowNum) -> new DiaryStatDto(rs.getDate("stat_date").toLocalDate(), rs.getString("weather"),
+                        rs.getLong("diary_count"), average(rs.getDouble("temperature_sum"), rs.getLong("diary_count"))),
+                Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    public List<DiaryStatDto> findMonthly(LocalDate startMonth, LocalDate endMonth) {
+        return jdbcTemplate.query("SELECT month_start, weather, diary_count, temperature_sum FROM diary_monthly_stat "
+                        + "WHERE month_start BETWEEN ? AND ? AND diary_count > 0 ORDER BY month_start, weather",
+                (rs, rowNum) -> new DiaryStatDto(rs.getDate("month_start").toLocalDate(), rs.getString("weather"),
+                        rs.getLong("diary_count"), average(rs.getDouble("temperature_sum"), rs.getLong("diary_count"))),
+                Date.valueOf(startMonth), Date.valueOf(endMonth));
+    }
+
+    public List<WeatherStatDto> findWeatherMonthly(String city, LocalDate startMonth, LocalDate endMonth) {
+        return jdbcTemplate.query("SELECT month_start, city, weather, day_count, temperature_sum FROM weather_monthly_stat "
+                        + "WHERE city = ? AND month_start BETWEEN ? AND ? AND day_count > 0 ORDER BY month_start, weather",
+                (rs, rowNum) -> new WeatherStatDto(rs.getDate("month_start").toLocalDate(), rs.getString("city"),
+                        rs.getString("weather"), rs.getLong("day_count"),
+                        average(rs.getDouble("temperature_sum"), rs.getLong("day_count"))),
+                city, Date.valueOf(startMonth), Date.valueOf(endMonth));
+    }
+
+    // 키 순서대로 갱신해 동시에 여러 행을 갱신하는 트랜잭션끼리 교착 상태에 빠지지 않게 한다.
+    private void batchAdd(String sql, SortedMap<StatKey, StatDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, new ArrayList<>(deltas.entrySet()), deltas.size(), (ps, delta) -> {
+            ps.setDate(1, Date.valueOf(delta.getKey().periodStart()));
+            ps.setString(2, delta.getKey().weather());
+            ps.setLong(3, delta.getValue().count());
+            ps.setDouble(4, delta.getValue().temperatureSum());
+        });
+    }
+
+    private static double average(double sum, long count) {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public static String nullToEmpty(String weather) {
+        return weather == null ? "" : weather;
+    }
+
+    public record StatKey(LocalDate periodStart, String weather) implements Comparable<StatKey> {
+        @Override
+        public int compareTo(StatKey other) {
+            int compared = periodStart.compareTo(other.periodStart);
+            return compared != 0 ? compared : weather.compareTo(other.weather);
+        }
+    }
+
+    public record StatDelta(long count, double temperatureSum) {
+        public StatDelta plus(StatDelta other) {
+            return new StatDelta(count + other.count, temperatureSum + other.temperatureSum);
+        }
+
+        public StatDelta negate() {
+            return new StatDelta(-count, -temperatureSum);
+        }
+    }
+}
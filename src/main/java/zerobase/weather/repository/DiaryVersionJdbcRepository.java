@@ -0,0 +1,42 @@
+package zerobase.weather.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// 날짜별 일기 버전. 값을 더하는 upsert 로 올리므로 동시에 저장해도 버전이 빠지지 않는다.
+@Repository
+public class DiaryVersionJdbcRepository {
+    static final String INCREMENT_SQL =
+            "INSERT INTO diary_version (date, version) VALUES (?, 1) ON DUPLICATE KEY UPDATE version = version + 1";
+    static final String FIND_SQL = "SELECT version FROM diary_version WHERE date = ?";
+    static final String SUM_SQL = "SELECT COALESCE(SUM(version), 0) FROM diary_version WHERE date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DiaryVersionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 여러 날짜를 함께 올리는 트랜잭션끼리 교착되지 않도록 날짜 순으로 잠근다.
+    public void increment(Collection<LocalDate> dates) {
+        List<LocalDate> sortedDates = dates.stream().sorted().toList();
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, sortedDates, sortedDates.size(),
+                (ps, date) -> ps.setDate(1, Date.valueOf(date)));
+    }
+
+    public long findVersion(LocalDate date) {
+        List<Long> versions = jdbcTemplate.queryForList(FIND_SQL, Long.class, date);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    // 날짜별 버전은 올라가기만 하므로, 기간 안의 어느 날짜가 바뀌어도 합이 커진다.
+    public long sumVersions(LocalDate startDate, LocalDate endDate) {
+        Long sum = jdbcTemplate.queryForObject(SUM_SQL, Long.class, startDate, endDate);
+        return sum == null ? 0 : sum;
+    }
+}
@@ -0,0 +1,209 @@
+package zerobase.weather.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.Diary;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatDelta;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatKey;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static zerobase.weather.repository.DiaryStatsJdbcRepository.ADD_DAILY_SQL;
+import static zerobase.weather.repository.DiaryStatsJdbcRepository.ADD_MONTHLY_SQL;
+import static zerobase.weather.repository.DiaryStatsJdbcRepository.ADD_WEATHER_SQL;
+import static zerobase.weather.repository.DiaryStatsJdbcRepository.nullToEmpty;
+import static zerobase.weather.repository.DiaryVersionJdbcRepository.FIND_SQL;
+import static zerobase.weather.repository.DiaryVersionJdbcRepository.INCREMENT_SQL;
+import static zerobase.weather.repository.DiaryVersionJdbcRepository.SUM_SQL;
+
+// reactive 프로필에서 쓰는 R2DBC 리포지토리. 쿼리는 JPA/JDBC 리포지토리와 같은 테이블, 같은 규칙을 따른다.
+@Repository
+@Profile("reactive")
+public class ReactiveDiaryRepository {
+    private static final String DIARY_COLUMNS = "SELECT id, weather, icon, temperature, text, date, city, weather_stale FROM diary ";
+    private static final String DATE_WEATHER_COLUMNS = "SELECT date, city, weather, icon, temperature FROM date_weather ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveDiaryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<DiaryDto> findDtosByDate(LocalDate date) {
+        return databaseClient.sql(DIARY_COLUMNS + "WHERE date = ? ORDER BY id")
+                .bind(0, date)
+                .map(ReactiveDiaryRepository::toDiaryDto)
+                .all();
+    }
+
+    public Flux<DiaryDto> findDtosByDateBetween(LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql(DIARY_COLUMNS + "WHERE date BETWEEN ? AND ? ORDER BY date, id")
+                .bind(0, startDate)
+                .bind(1, endDate)
+                .map(ReactiveDiaryRepository::toDiaryDto)
+                .all();
+    }
+
+    public Mono<DateWeather> findDateWeather(LocalDate date, String city) {
+        return databaseClient.sql(DATE_WEATHER_COLUMNS + "WHERE date = ? AND city = ?")
+                .bind(0, date)
+                .bind(1, city)
+                .map(ReactiveDiaryRepository::toDateWeather)
+                .one();
+    }
+
+    // 오늘까지의 날씨 중 가장 최근 것 (DateWeatherRepository.findFirstByCityAndDateLessThanEqualOrderByDateDesc)
+    public Mono<DateWeather> findLatestDateWeather(String city) {
+        return databaseClient.sql(DATE_WEATHER_COLUMNS + "WHERE city = ? AND date <= ? ORDER BY date DESC LIMIT 1")
+                .bind(0, city)
+                .bind(1, LocalDate.now())
+                .map(ReactiveDiaryRepository::toDateWeather)
+                .one();
+    }
+
+    // 새로 들어가면 1, 이미 있으면 0 을 반환한다.
+    public Mono<Long> insertIgnoreDateWeather(DateWeather dateWeather) {
+        return bindDateWeather(databaseClient.sql("INSERT IGNORE INTO date_weather (date, city, weather, icon, temperature) "
+                + "VALUES (?, ?, ?, ?, ?)"), dateWeather)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> upsertDateWeather(DateWeather dateWeather) {
+        return bindDateWeather(databaseClient.sql("INSERT INTO date_weather (date, city, weather, icon, temperature) "
+                + "VALUES (?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE weather = VALUES(weather), icon = VALUES(icon), "
+                + "temperature = VALUES(temperature)"), dateWeather)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> insertDiary(Diary diary) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                        "INSERT INTO diary (date, city, weather, icon, temperature, text, weather_stale) "
+                                + "VALUES (?, ?, ?, ?, ?, ?, ?)")
+                .bind(0, diary.getDate())
+                .bind(1, diary.getCity());
+        spec = bindNullable(spec, 2, diary.getWeather());
+        spec = bindNullable(spec, 3, diary.getIcon());
+        spec = spec.bind(4, diary.getTemperature());
+        spec = bindNullable(spec, 5, diary.getText());
+        spec = spec.bind(6, diary.isWeatherStale());
+        return spec.fetch().rowsUpdated();
+    }
+
+    // 일기 한 건을 일별/월별 통계에 더한다.
+    public Mono<Void> addDiaryStats(Diary diary) {
+        return addStat(ADD_DAILY_SQL, diary.getDate(), diary)
+                .then(addStat(ADD_MONTHLY_SQL, diary.getDate().withDayOfMonth(1), diary))
+                .then();
+    }
+
+    public Mono<Long> addWeatherStat(DateWeather dateWeather) {
+        return addWeatherStat(dateWeather.getCity(), new StatKey(dateWeather.getDate().withDayOfMonth(1),
+                nullToEmpty(dateWeather.getWeather())), new StatDelta(1, dateWeather.getTemperature()));
+    }
+
+    public Mono<Long> addWeatherStat(String city, StatKey key, StatDelta delta) {
+        return databaseClient.sql(ADD_WEATHER_SQL)
+                .bind(0, key.periodStart())
+                .bind(1, city)
+                .bind(2, key.weather())
+                .bind(3, delta.count())
+                .bind(4, delta.temperatureSum())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // DiaryStatsJdbcRepository.lockDateWeather 와 같이, 덮어쓸 날씨 행을 잠그고 이전 값을 읽는다.
+    public Mono<Map.Entry<String, Double>> lockDateWeather(LocalDate date, String city) {
+        return databaseClient.sql("SELECT weather, temperature FROM date_weather WHERE date = ? AND city = ? FOR UPDATE")
+                .bind(0, date)
+                .bind(1, city)
+                .map(row -> Map.entry(nullToEmpty(row.get("weather", String.class)), row.get("temperature", Double.class)))
+                .one();
+    }
+
+    // DiaryVersionJdbcRepository 와 같은 diary_version 행을 일기를 저장하는 트랜잭션 안에서 올린다.
+    public Mono<Long> incrementDiaryVersion(LocalDate date) {
+        return databaseClient.sql(INCREMENT_SQL)
+                .bind(0, date)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> findDiaryVersion(LocalDate date) {
+        return databaseClient.sql(FIND_SQL)
+                .bind(0, date)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    public Mono<Long> sumDiaryVersions(LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql(SUM_SQL)
+                .bind(0, startDate)
+                .bind(1, endDate)
+                .map(row -> ((Number) row.get(0)).longValue())
+                .one();
+    }
+
+    private Mono<Long> addStat(String sql, LocalDate periodStart, Diary diary) {
+        return databaseClient.sql(sql)
+                .bind(0, periodStart)
+                .bind(1, nullToEmpty(diary.getWeather()))
+                .bind(2, 1L)
+                .bind(3, diary.getTemperature())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindDateWeather(DatabaseClient.GenericExecuteSpec spec,
+                                                                     DateWeather dateWeather) {
+        spec = spec.bind(0, dateWeather.getDate()).bind(1, dateWeather.getCity());
+        spec = bindNullable(spec, 2, dateWeather.getWeather());
+        spec = bindNullable(spec, 3, dateWeather.getIcon());
+        return spec.bind(4, dateWeather.getTemperature());
+    }
+
+    // R2DBC 는 null 을 bind 로 넘길 수 없어 타입을 지정한 bindNull 을 써야 한다.
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  int index, String value) {
+        return value == null ? spec.bindNull(index, String.class) : spec.bind(index, value);
+    }
+
+    private static DiaryDto toDiaryDto(Readable row) {
+        return new DiaryDto(
+                row.get("id", Integer.class),
+                row.get("weather", String.class),
+                row.get("icon", String.class),
+                row.get("temperature", Double.class),
+                row.get("text", String.class),
+                row.get("date", LocalDate.class),
+                row.get("city", String.class),
+                toBoolean(row.get("weather_stale")));
+    }
+
+    // 드라이버에 따라 BOOLEAN(TINYINT(1)) 컬럼을 Boolean 또는 숫자로 돌려준다.
+    private static boolean toBoolean(Object value) {
+        return value instanceof Boolean booleanValue ? booleanValue
+                : value instanceof Number number && number.intValue() != 0;
+    }
+
+    private static DateWeather toDateWeather(Readable row) {
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(row.get("date", LocalDate.class));
+        dateWeather.setCity(row.get("city", String.class));
+        dateWeather.setWeather(row.get("weather", String.class));
+        dateWeather.setIcon(row.get("icon", String.class));
+        dateWeather.setTemperature(row.get("temperature", Double.class));
+        return dateWeather;
+    }
+}
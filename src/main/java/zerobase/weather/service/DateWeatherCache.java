@@ -0,0 +1,117 @@
+package zerobase.weather.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.DateWeatherId;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class DateWeatherCache {
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // access-order 로 두어 가장 오래 사용되지 않은 (날짜, 도시)부터 제거
+    private final LinkedHashMap<DateWeatherId, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DateWeatherCache(
+            @Value("${weather.cache.max-size:366}") int maxSize,
+            @Value("${weather.cache.ttl:6h}") Duration ttl
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Optional<DateWeather> get(LocalDate date, String city) {
+        DateWeatherId key = new DateWeatherId(date, city);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            hits.incrementAndGet();
+            return Optional.of(entry.dateWeather);
+        }
+    }
+
+    public void put(DateWeather dateWeather) {
+        put(dateWeather.getDate(), dateWeather);
+    }
+
+    public void put(LocalDate date, DateWeather dateWeather) {
+        DateWeatherId key = new DateWeatherId(date, dateWeather.getCity());
+        long now = System.nanoTime();
+        synchronized (entries) {
+            entries.put(key, new Entry(dateWeather, now + ttlNanos));
+            evictOverflow();
+        }
+    }
+
+    // date_weather 행을 덮어쓰면 DiaryStatsService 가 커밋 뒤에 이전 날씨를 버린다.
+    public void evict(LocalDate date, String city) {
+        synchronized (entries) {
+            if (entries.remove(new DateWeatherId(date, city)) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<DateWeatherId, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class Entry {
+        private final DateWeather dateWeather;
+        private final long expiresAt;
+
+        private Entry(DateWeather dateWeather, long expiresAt) {
+            this.dateWeather = dateWeather;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
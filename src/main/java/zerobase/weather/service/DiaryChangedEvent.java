@@ -0,0 +1,18 @@
+package zerobase.weather.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+// 일기가 추가, 수정, 삭제된 날짜. 트랜잭션이 커밋된 뒤에 리스너에 전달된다.
+@Getter
+@AllArgsConstructor
+public class DiaryChangedEvent {
+    private final Set<LocalDate> dates;
+
+    public static DiaryChangedEvent of(LocalDate date) {
+        return new DiaryChangedEvent(Set.of(date));
+    }
+}
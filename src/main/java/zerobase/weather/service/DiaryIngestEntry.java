@@ -0,0 +1,15 @@
+package zerobase.weather.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class DiaryIngestEntry {
+    private final String idempotencyKey;
+    private final LocalDate date;
+    private final String city;
+    private final String text;
+}
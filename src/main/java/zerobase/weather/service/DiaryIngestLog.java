@@ -0,0 +1,272 @@
+package zerobase.weather.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * 비동기 일기 저장 요청을 쌓아 두는 원형 로그 파일.
+ * 파일 전체를 메모리에 매핑해 두므로 append 는 메모리 복사만으로 끝나고,
+ * 프로세스가 죽어도 OS 페이지 캐시에 남은 내용은 파일에 반영된다.
+ *
+ * <pre>
+ * [int magic][int checkpoint] [int length][int crc][payload] ... [int 0]
+ * </pre>
+ * checkpoint 는 DB 에 반영된 마지막 레코드의 끝 위치이며, 기동 시 여기서부터 다시 읽는다.
+ * 파일 끝에 자리가 없으면 length 자리에 -1 을 남기고, 이미 반영되어 비어 있는 앞부분으로 돌아가 이어서 쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.ingest.async.enabled", havingValue = "true")
+public class DiaryIngestLog {
+    private static final Logger logger = LoggerFactory.getLogger(DiaryIngestLog.class);
+
+    private static final int MAGIC = 0x44494152;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int WRAP = -1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean forceOnAppend;
+
+    private int readPosition;
+    private int writePosition;
+
+    public DiaryIngestLog(
+            @Value("${weather.ingest.path:./data/diary-ingest.log}") Path path,
+            @Value("${weather.ingest.log-size:64MB}") DataSize logSize,
+            @Value("${weather.ingest.force-on-append:false}") boolean forceOnAppend
+    ) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.toIntExact(logSize.toBytes()));
+        this.forceOnAppend = forceOnAppend;
+        recover();
+    }
+
+    /**
+     * 로그 끝에 레코드를 추가한다. 아직 반영되지 않은 레코드를 덮어써야 할 만큼 공간이 없으면 false 를 반환한다.
+     */
+    public synchronized boolean append(DiaryIngestEntry entry) {
+        byte[] payload = encode(entry);
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        int position = writePosition;
+        // 앞부분으로 돌아와 있다면 레코드 뒤의 종료 표시(0)까지 아직 읽지 않은 레코드를 덮어쓰면 안 된다.
+        if (position < readPosition) {
+            if (position + recordSize + Integer.BYTES > readPosition) {
+                return false;
+            }
+            writeRecord(position, payload);
+        } else if (position + recordSize + Integer.BYTES <= buffer.capacity()) {
+            writeRecord(position, payload);
+        } else {
+            // 끝에 자리가 없으면 앞부분으로 돌아간다. 레코드를 먼저 쓰고 나서 -1 을 남겨 복구 시 건너뛰게 한다.
+            if (HEADER_SIZE + recordSize + Integer.BYTES > readPosition) {
+                return false;
+            }
+            writeRecord(HEADER_SIZE, payload);
+            buffer.putInt(position, WRAP);
+            if (forceOnAppend) {
+                buffer.force(position, Integer.BYTES);
+            }
+            position = HEADER_SIZE;
+        }
+        writePosition = position + recordSize;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * 아직 반영되지 않은 레코드를 최대 {@code maxEntries} 개 읽는다. 없으면 {@code timeout} 동안 기다린다.
+     */
+    public synchronized Batch read(int maxEntries, long timeout, TimeUnit unit) throws InterruptedException {
+        if (readPosition == writePosition) {
+            unit.timedWait(this, timeout);
+        }
+        return collect(maxEntries);
+    }
+
+    /**
+     * 아직 반영되지 않은 모든 레코드의 키. 읽기 위치는 바꾸지 않는다.
+     */
+    public synchronized List<String> pendingKeys() {
+        return collect(Integer.MAX_VALUE).entries().stream()
+                .map(DiaryIngestEntry::getIdempotencyKey)
+                .toList();
+    }
+
+    /**
+     * {@code position} 까지의 레코드가 DB 에 반영되었음을 기록한다.
+     */
+    public synchronized void commit(int position) {
+        readPosition = position;
+        buffer.putInt(Integer.BYTES, readPosition);
+        buffer.force(0, HEADER_SIZE);
+        if (readPosition == writePosition) {
+            reset();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (this) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    private void recover() {
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            reset();
+            return;
+        }
+        readPosition = buffer.getInt(Integer.BYTES);
+        if (readPosition < HEADER_SIZE || readPosition >= buffer.capacity()) {
+            reset();
+            return;
+        }
+        int position = readPosition;
+        int recovered = 0;
+        boolean wrapped = false;
+        while (position + Integer.BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == WRAP && !wrapped) {
+                position = HEADER_SIZE;
+                wrapped = true;
+                continue;
+            }
+            // 앞부분으로 돌아온 뒤에는 checkpoint 이후의 레코드까지 넘어가지 않는다.
+            int limit = wrapped ? readPosition : buffer.capacity();
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > limit) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            // 기록 도중 죽어 잘린 레코드는 버린다.
+            if (buffer.getInt(position + Integer.BYTES) != crc(payload)) {
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+            recovered++;
+        }
+        writePosition = position;
+        if (position + Integer.BYTES <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+        if (recovered > 0) {
+            logger.info("Recovered {} pending diary ingest entries.", recovered);
+        }
+    }
+
+    private Batch collect(int maxEntries) {
+        List<DiaryIngestEntry> entries = new ArrayList<>();
+        int position = readPosition;
+        while (position != writePosition && entries.size() < maxEntries) {
+            int length = buffer.getInt(position);
+            if (length == WRAP) {
+                position = HEADER_SIZE;
+                continue;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            entries.add(decode(payload));
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return new Batch(entries, position);
+    }
+
+    private void writeRecord(int position, byte[] payload) {
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        buffer.putInt(position + Integer.BYTES, crc(payload));
+        buffer.put(position + RECORD_HEADER_SIZE, payload);
+        // 다음 레코드 자리를 0 으로 표시해 복구 시 여기서 멈추게 한 뒤, 마지막에 길이를 써서 레코드를 공개한다.
+        buffer.putInt(position + recordSize, 0);
+        buffer.putInt(position, payload.length);
+        if (forceOnAppend) {
+            buffer.force(position, recordSize + Integer.BYTES);
+        }
+    }
+
+    private void reset() {
+        readPosition = HEADER_SIZE;
+        writePosition = HEADER_SIZE;
+        buffer.putInt(HEADER_SIZE, 0);
+        buffer.putInt(Integer.BYTES, readPosition);
+        buffer.force(0, HEADER_SIZE + Integer.BYTES);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    private static byte[] encode(DiaryIngestEntry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, entry.getIdempotencyKey());
+            out.writeLong(entry.getDate().toEpochDay());
+            writeString(out, entry.getCity());
+            writeString(out, entry.getText());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DiaryIngestEntry decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        String idempotencyKey = readString(in);
+        LocalDate date = LocalDate.ofEpochDay(in.getLong());
+        String city = readString(in);
+        String text = readString(in);
+        return new DiaryIngestEntry(idempotencyKey, date, city, text);
+    }
+
+    // null 은 길이 -1 로 기록한다.
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public record Batch(List<DiaryIngestEntry> entries, int endPosition) {
+    }
+}
@@ -0,0 +1,249 @@
+package zerobase.weather.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import zerobase.weather.dto.CreateDiary;
+import zerobase.weather.dto.DiaryIngest;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.DiaryIngestJdbcRepository;
+import zerobase.weather.type.ErrorCode;
+import zerobase.weather.type.IngestStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static zerobase.weather.type.ErrorCode.*;
+
+/**
+ * 일기 저장 요청을 로그 파일에 쌓아 두고 바로 응답한 뒤, 백그라운드 스레드가 배치로 DB 에 반영한다.
+ * 같은 Idempotency-Key 의 요청은 한 번만 저장된다.
+ */
+@Service
+@ConditionalOnProperty(name = "weather.ingest.async.enabled", havingValue = "true")
+public class DiaryIngestService {
+    private static final Logger logger = LoggerFactory.getLogger(DiaryIngestService.class);
+
+    private static final int MAX_KEY_LENGTH = 64;
+    // diary.text 컬럼 길이
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    // 날씨 API 장애처럼 시간이 지나면 해결될 오류는 로그에 남겨 두고 다시 시도한다.
+    // 응답을 해석하지 못했거나 API 가 요청을 거절한 경우는 다시 시도해도 같으므로 해당 요청만 실패로 기록한다.
+    private static final Set<ErrorCode> RETRYABLE_ERRORS = EnumSet.of(
+            FAIL_TO_FETCH_WEATHER_DATA_FROM_API, WEATHER_API_UNAVAILABLE);
+
+    // 로그에 들어갔지만 아직 DB 에 반영되지 않은 키
+    private final Set<String> queuedKeys = ConcurrentHashMap.newKeySet();
+
+    private final DiaryIngestLog diaryIngestLog;
+    private final DiaryService diaryService;
+    private final DiaryIngestJdbcRepository diaryIngestJdbcRepository;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+
+    private volatile boolean running;
+    private Thread writerThread;
+    // 현재 배치가 연속으로 실패한 횟수. writer 스레드에서만 다룬다.
+    private int failedAttempts;
+
+    public DiaryIngestService(DiaryIngestLog diaryIngestLog,
+                              DiaryService diaryService,
+                              DiaryIngestJdbcRepository diaryIngestJdbcRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${weather.ingest.batch-size:500}") int batchSize,
+                              @Value("${weather.ingest.retry-delay:1s}") Duration retryDelay,
+                              @Value("${weather.ingest.max-attempts:10}") int maxAttempts) {
+        this.diaryIngestLog = diaryIngestLog;
+        this.diaryService = diaryService;
+        this.diaryIngestJdbcRepository = diaryIngestJdbcRepository;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+        // 재시작 전에 로그에 남은 요청도 반영될 때까지 QUEUED 로 보이게 한다.
+        queuedKeys.addAll(diaryIngestLog.pendingKeys());
+        Gauge.builder("weather.ingest.queued", queuedKeys, Set::size)
+                .description("DB 반영을 기다리는 비동기 일기 저장 요청 수")
+                .register(meterRegistry);
+    }
+
+    public DiaryIngest.Response accept(String idempotencyKey, LocalDate date, String city, String text) {
+        diaryService.validateDate(date);
+        // 로그에 쌓은 뒤에는 되돌릴 수 없으므로, 저장할 수 없는 요청은 여기서 거절한다.
+        String normalizedCity = diaryService.normalizeCity(city);
+        if (text != null && text.length() > MAX_TEXT_LENGTH) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+        String key = idempotencyKey == null || idempotencyKey.isBlank()
+                ? UUID.randomUUID().toString()
+                : idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+
+        // 이미 대기 중인 키는 다시 쌓지 않는다. DB 에 반영된 키는 writer 가 걸러낸다.
+        if (queuedKeys.add(key) && !diaryIngestLog.append(new DiaryIngestEntry(key, date, normalizedCity, text))) {
+            queuedKeys.remove(key);
+            throw new DiaryException(INGEST_QUEUE_FULL);
+        }
+        return new DiaryIngest.Response(key, IngestStatus.QUEUED);
+    }
+
+    public DiaryIngest.Response getStatus(String idempotencyKey) {
+        if (queuedKeys.contains(idempotencyKey)) {
+            return new DiaryIngest.Response(idempotencyKey, IngestStatus.QUEUED);
+        }
+        IngestStatus status = diaryIngestJdbcRepository.findStatus(idempotencyKey)
+                .orElseThrow(() -> new DiaryException(INGEST_NOT_FOUND));
+        return new DiaryIngest.Response(idempotencyKey, status);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drain, "diary-ingest-writer");
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                drainOnce();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 커밋하지 않았으므로 같은 배치를 다시 읽는다.
+                logger.error("Failed to write diary ingest batch, retrying in {}: {}", retryDelay, e.getMessage(), e);
+                if (!sleep(retryDelay)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void drainOnce() throws InterruptedException {
+        DiaryIngestLog.Batch batch = diaryIngestLog.read(batchSize, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (batch.entries().isEmpty()) {
+            return;
+        }
+        try {
+            write(batch.entries());
+        } catch (RuntimeException e) {
+            if (++failedAttempts < maxAttempts) {
+                throw e;
+            }
+            // 같은 배치가 계속 실패하면 뒤의 요청이 막히지 않도록 실패로 기록하고 넘어간다.
+            logger.error("Diary ingest batch failed {} times, marking {} entries as failed: {}",
+                    failedAttempts, batch.entries().size(), e.getMessage());
+            fail(batch.entries());
+        }
+        failedAttempts = 0;
+        diaryIngestLog.commit(batch.endPosition());
+        batch.entries().forEach(entry -> queuedKeys.remove(entry.getIdempotencyKey()));
+        logger.debug("{} diary ingest entries written.", batch.entries().size());
+    }
+
+    void write(List<DiaryIngestEntry> entries) {
+        Map<String, DiaryIngestEntry> uniqueEntries = new LinkedHashMap<>();
+        for (DiaryIngestEntry entry : entries) {
+            uniqueEntries.putIfAbsent(entry.getIdempotencyKey(), entry);
+        }
+        diaryIngestJdbcRepository.findExistingKeys(uniqueEntries.keySet()).forEach(uniqueEntries::remove);
+        if (uniqueEntries.isEmpty()) {
+            return;
+        }
+
+        List<DiaryIngestEntry> freshEntries = List.copyOf(uniqueEntries.values());
+        try {
+            persist(freshEntries);
+        } catch (RuntimeException e) {
+            if (isRetryable(e)) {
+                throw e;
+            }
+            // 배치 안에 잘못된 요청이 섞여 있으면 하나씩 저장해 해당 요청만 실패로 기록한다.
+            freshEntries.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(DiaryIngestEntry entry) {
+        try {
+            persist(List.of(entry));
+        } catch (RuntimeException e) {
+            if (isRetryable(e)) {
+                throw e;
+            }
+            logger.warn("Diary ingest entry {} failed: {}", entry.getIdempotencyKey(), e.getMessage());
+            diaryIngestJdbcRepository.batchInsert(List.of(entry.getIdempotencyKey()), IngestStatus.FAILED);
+        }
+    }
+
+    private void fail(List<DiaryIngestEntry> entries) {
+        Set<String> keys = new LinkedHashSet<>();
+        entries.forEach(entry -> keys.add(entry.getIdempotencyKey()));
+        diaryIngestJdbcRepository.findExistingKeys(keys).forEach(keys::remove);
+        if (!keys.isEmpty()) {
+            diaryIngestJdbcRepository.batchInsert(List.copyOf(keys), IngestStatus.FAILED);
+        }
+    }
+
+    // 날씨 API 장애, DB 연결 실패나 잠금 충돌처럼 잠시 뒤 풀릴 수 있는 오류만 다시 시도한다.
+    // 컬럼 길이 초과 같은 제약 조건 위반 등 나머지는 해당 요청만 실패로 기록한다.
+    private static boolean isRetryable(RuntimeException e) {
+        if (e instanceof DiaryException diaryException) {
+            return RETRYABLE_ERRORS.contains(diaryException.getErrorCode());
+        }
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    // 날씨 조회는 트랜잭션 밖에서 끝내고, 일기와 처리 완료 키만 같은 트랜잭션으로 저장한다.
+    private void persist(List<DiaryIngestEntry> entries) {
+        diaryService.createDiaries(
+                entries.stream()
+                        .map(entry -> new CreateDiary.Request(entry.getDate(), entry.getText(), entry.getCity()))
+                        .toList(),
+                () -> diaryIngestJdbcRepository.batchInsert(
+                        entries.stream().map(DiaryIngestEntry::getIdempotencyKey).toList(), IngestStatus.PERSISTED));
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
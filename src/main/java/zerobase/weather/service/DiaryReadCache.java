@@ -0,0 +1,111 @@
+package zerobase.weather.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import zerobase.weather.dto.DiaryDto;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 날짜별 일기 조회 결과 캐시. 최근 날짜에 조회가 몰리므로 LRU 로 크기를 제한한다.
+ * 항목마다 일기와 같은 트랜잭션에서 읽은 날짜 버전(diary_version)을 함께 저장하고, 꺼낼 때 DB 의 현재 버전과
+ * 맞지 않으면 사용하지 않는다. 그래서 다른 인스턴스가 일기를 바꿔 이 인스턴스의 캐시가 비워지지 않아도
+ * 오래된 결과를 돌려주지 않는다.
+ */
+@Component
+public class DiaryReadCache {
+    private final int maxSize;
+
+    // access-order 로 두어 가장 오래 조회되지 않은 날짜부터 제거
+    private final LinkedHashMap<LocalDate, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DiaryReadCache(@Value("${weather.diary-cache.max-size:1000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Optional<List<DiaryDto>> get(LocalDate date, long version) {
+        synchronized (entries) {
+            Entry entry = entries.get(date);
+            if (entry == null || entry.version != version) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            hits.incrementAndGet();
+            return Optional.of(entry.diaries);
+        }
+    }
+
+    public void put(LocalDate date, long version, List<DiaryDto> diaries) {
+        Entry entry = new Entry(version, List.copyOf(diaries));
+        synchronized (entries) {
+            entries.put(date, entry);
+            evictOverflow();
+        }
+    }
+
+    // 커밋된 뒤에 해당 날짜를 비워 다음 조회가 DB 에서 다시 읽도록 한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        synchronized (entries) {
+            for (LocalDate date : event.getDates()) {
+                if (entries.remove(date) != null) {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<LocalDate, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final List<DiaryDto> diaries;
+
+        private Entry(long version, List<DiaryDto> diaries) {
+            this.version = version;
+            this.diaries = diaries;
+        }
+    }
+}
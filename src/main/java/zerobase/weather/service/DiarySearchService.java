@@ -0,0 +1,389 @@
+package zerobase.weather.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.dto.DiarySearchResult;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.DiaryRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static zerobase.weather.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ * 일기 본문 전문 검색. 로컬 디스크의 Lucene 색인을 쓰고, 한국어는 nori 형태소 분석기로 나눈다.
+ * 일기가 바뀐 날짜는 커밋 뒤에 별도 스레드에서 그 날짜의 문서만 다시 색인하므로
+ * 쓰기 요청이 색인 때문에 느려지지 않는다. 색인이 비어 있으면 기동 시 전체를 한 번 색인하고,
+ * 비어 있지 않으면 기간을 나눠 날짜별로 DB 와 색인을 비교하고 어긋난 날짜만 다시 색인한다.
+ */
+@Service
+public class DiarySearchService {
+    private static final Logger logger = LoggerFactory.getLogger(DiarySearchService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // 깊은 페이지는 앞 페이지를 모두 점수 계산해야 하므로 결과 창을 제한한다.
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(2100, 1, 1);
+
+    private static final String ID = "id";
+    private static final String DATE = "date";
+    private static final String WEATHER = "weather";
+    private static final String ICON = "icon";
+    private static final String TEMPERATURE = "temperature";
+    private static final String TEXT = "text";
+    private static final String CITY = "city";
+    private static final String WEATHER_STALE = "weatherStale";
+
+    private final DiaryRepository diaryRepository;
+    private final DiaryService diaryService;
+    private final Analyzer analyzer = new KoreanAnalyzer();
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    // 아직 다시 색인하지 않은 날짜. 같은 날짜가 여러 번 바뀌어도 한 번만 색인한다.
+    private final NavigableSet<LocalDate> pendingDates = new ConcurrentSkipListSet<>();
+    private final ExecutorService indexer =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "diary-search-indexer"));
+    // 기동 시 DB 와 색인을 비교할 때 한 번에 읽는 기간(일). 메모리에는 이 기간의 날짜별 요약만 올린다.
+    private final int reconcileChunkDays;
+
+    public DiarySearchService(DiaryRepository diaryRepository,
+                              DiaryService diaryService,
+                              @Value("${weather.search.index-path:./data/diary-index}") Path indexPath,
+                              @Value("${weather.search.reconcile-chunk-days:31}") int reconcileChunkDays)
+            throws IOException {
+        this.diaryRepository = diaryRepository;
+        this.diaryService = diaryService;
+        this.reconcileChunkDays = Math.max(1, reconcileChunkDays);
+        Files.createDirectories(indexPath);
+        this.directory = FSDirectory.open(indexPath);
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    public DiarySearchResult search(String keyword, LocalDate startDate, LocalDate endDate,
+                                    String weather, int page, int size) {
+        if (keyword == null || keyword.isBlank()
+                || page < 0 || size < 1 || size > MAX_PAGE_SIZE
+                || (long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+        LocalDate from = startDate == null ? MIN_DATE : startDate;
+        LocalDate to = endDate == null ? MAX_DATE : endDate;
+        diaryService.validateDateRange(from, to);
+
+        Query textQuery = new QueryBuilder(analyzer).createBooleanQuery(TEXT, keyword, BooleanClause.Occur.MUST);
+        if (textQuery == null) {
+            // 조사나 기호만 있어 검색할 토큰이 없다.
+            return new DiarySearchResult(List.of(), 0, page, size);
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(LongPoint.newRangeQuery(DATE, from.toEpochDay(), to.toEpochDay()), BooleanClause.Occur.FILTER);
+        if (weather != null && !weather.isBlank()) {
+            query.add(new TermQuery(new Term(WEATHER, weather.trim())), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                Query built = query.build();
+                TopDocs topDocs = searcher.search(built, (page + 1) * size);
+                StoredFields storedFields = searcher.storedFields();
+                List<DiaryDto> diaries = new ArrayList<>(size);
+                for (int i = page * size; i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    diaries.add(toDto(storedFields.document(scoreDoc.doc)));
+                }
+                return new DiarySearchResult(diaries, searcher.count(built), page, size);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        pendingDates.addAll(event.getDates());
+        indexer.execute(this::reindexPendingDates);
+    }
+
+    // 색인이 비어 있으면 (처음 기동했거나 색인 디렉터리를 지운 경우) 전체 일기를 색인한다.
+    // 비어 있지 않으면, 재시작 전에 색인하지 못하고 잃어버린 날짜를 찾아 다시 색인한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        indexer.execute(() -> {
+            if (indexWriter.getDocStats().numDocs == 0) {
+                rebuild();
+            } else {
+                reindexMismatchedDates();
+            }
+        });
+    }
+
+    // 색인에 실패해 남은 날짜는 다음 변경을 기다리지 않고 주기적으로 다시 시도한다.
+    @Scheduled(fixedDelayString = "${weather.search.retry-delay:PT1M}")
+    public void retryPendingDates() {
+        if (!pendingDates.isEmpty()) {
+            indexer.execute(this::reindexPendingDates);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        indexer.shutdown();
+        try {
+            indexer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    // 앞서 요청된 색인 작업이 모두 끝날 때까지 기다린다.
+    void awaitIndexing() throws InterruptedException, ExecutionException {
+        indexer.submit(() -> { }).get();
+    }
+
+    private void rebuild() {
+        try {
+            long[] count = {0};
+            diaryService.streamDiaries(MIN_DATE, MAX_DATE, diary -> {
+                addDocument(diary);
+                count[0]++;
+            });
+            commit();
+            logger.info("Diary search index built with {} diaries.", count[0]);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to build diary search index.", e);
+        }
+    }
+
+    // DB 와 색인에 있는 날짜 전체를 reconcileChunkDays 일씩 나눠, 기간마다 날짜별 일기 수와 내용 해시를 비교한다.
+    // 어긋난 날짜는 기간마다 바로 다시 색인하므로 한 번에 한 기간의 요약만 메모리에 둔다.
+    private void reindexMismatchedDates() {
+        try {
+            LocalDate[] indexedRange = indexedDateRange();
+            LocalDate firstDate = earlier(diaryRepository.findMinDate(), indexedRange[0]);
+            LocalDate lastDate = later(diaryRepository.findMaxDate(), indexedRange[1]);
+            if (firstDate == null) {
+                return;
+            }
+            int mismatched = 0;
+            for (LocalDate chunkStart = firstDate; !chunkStart.isAfter(lastDate);
+                 chunkStart = chunkStart.plusDays(reconcileChunkDays)) {
+                LocalDate chunkEnd = chunkStart.plusDays(reconcileChunkDays - 1L);
+                if (chunkEnd.isAfter(lastDate)) {
+                    chunkEnd = lastDate;
+                }
+                Set<LocalDate> dates = findMismatchedDates(chunkStart, chunkEnd);
+                if (!dates.isEmpty()) {
+                    mismatched += dates.size();
+                    pendingDates.addAll(dates);
+                    reindexPendingDates();
+                }
+            }
+            if (mismatched > 0) {
+                logger.info("Diary search index was out of date for {} dates, reindexed.", mismatched);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to reconcile diary search index.", e);
+        }
+    }
+
+    private Set<LocalDate> findMismatchedDates(LocalDate startDate, LocalDate endDate) throws IOException {
+        Map<LocalDate, Digest> indexed = digestIndex(startDate, endDate);
+        Map<LocalDate, Digest> stored = new HashMap<>();
+        diaryService.streamDiaries(startDate, endDate,
+                diary -> stored.merge(diary.getDate(), Digest.of(diary), Digest::plus));
+
+        Set<LocalDate> dates = new HashSet<>(indexed.keySet());
+        dates.addAll(stored.keySet());
+        dates.removeIf(date -> Objects.equals(indexed.get(date), stored.get(date)));
+        return dates;
+    }
+
+    private Map<LocalDate, Digest> digestIndex(LocalDate startDate, LocalDate endDate) throws IOException {
+        Map<LocalDate, Digest> digests = new HashMap<>();
+        Query query = LongPoint.newRangeQuery(DATE, startDate.toEpochDay(), endDate.toEpochDay());
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int count = searcher.count(query);
+            if (count == 0) {
+                return digests;
+            }
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc scoreDoc : searcher.search(query, count).scoreDocs) {
+                DiaryDto diary = toDto(storedFields.document(scoreDoc.doc));
+                digests.merge(diary.getDate(), Digest.of(diary), Digest::plus);
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return digests;
+    }
+
+    // 색인된 문서의 가장 이른 날짜와 늦은 날짜. 문서를 읽지 않고 날짜 포인트의 최솟값/최댓값만 본다.
+    private LocalDate[] indexedDateRange() throws IOException {
+        LocalDate[] range = new LocalDate[2];
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            IndexReader reader = searcher.getIndexReader();
+            byte[] min = PointValues.getMinPackedValue(reader, DATE);
+            byte[] max = PointValues.getMaxPackedValue(reader, DATE);
+            if (min != null && max != null) {
+                range[0] = LocalDate.ofEpochDay(LongPoint.decodeDimension(min, 0));
+                range[1] = LocalDate.ofEpochDay(LongPoint.decodeDimension(max, 0));
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return range;
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        return a == null ? b : b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        return a == null ? b : b == null || a.isAfter(b) ? a : b;
+    }
+
+    private void reindexPendingDates() {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date; (date = pendingDates.pollFirst()) != null; ) {
+            dates.add(date);
+        }
+        if (dates.isEmpty()) {
+            return;
+        }
+        try {
+            for (LocalDate date : dates) {
+                indexWriter.deleteDocuments(LongPoint.newExactQuery(DATE, date.toEpochDay()));
+                for (DiaryDto diary : diaryRepository.findDtosByDate(date)) {
+                    addDocument(diary);
+                }
+            }
+            commit();
+            logger.debug("Diary search index updated for {} dates.", dates.size());
+        } catch (IOException | RuntimeException e) {
+            // 다음 변경이나 retryPendingDates 에서 다시 시도한다.
+            pendingDates.addAll(dates);
+            logger.error("Failed to update diary search index for {} dates.", dates.size(), e);
+        }
+    }
+
+    private void addDocument(DiaryDto diary) {
+        Document document = new Document();
+        document.add(new StoredField(ID, diary.getId()));
+        document.add(new LongPoint(DATE, diary.getDate().toEpochDay()));
+        document.add(new StoredField(DATE, diary.getDate().toEpochDay()));
+        if (diary.getWeather() != null) {
+            document.add(new StringField(WEATHER, diary.getWeather(), Field.Store.YES));
+        }
+        if (diary.getIcon() != null) {
+            document.add(new StoredField(ICON, diary.getIcon()));
+        }
+        document.add(new StoredField(TEMPERATURE, diary.getTemperature()));
+        if (diary.getText() != null) {
+            document.add(new TextField(TEXT, diary.getText(), Field.Store.YES));
+        }
+        if (diary.getCity() != null) {
+            document.add(new StoredField(CITY, diary.getCity()));
+        }
+        if (diary.isWeatherStale()) {
+            document.add(new StoredField(WEATHER_STALE, 1));
+        }
+        try {
+            indexWriter.addDocument(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commit() throws IOException {
+        indexWriter.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private record Digest(long count, long hash) {
+        static Digest of(DiaryDto diary) {
+            return new Digest(1, Objects.hash(diary.getId(), diary.getWeather(), diary.getIcon(),
+                    diary.getTemperature(), diary.getText(), diary.getCity(), diary.isWeatherStale()));
+        }
+
+        // 순서와 상관없이 같은 일기 집합이면 같은 값이 되도록 더한다.
+        Digest plus(Digest other) {
+            return new Digest(count + other.count, hash + other.hash);
+        }
+    }
+
+    private static DiaryDto toDto(Document document) {
+        return new DiaryDto(
+                document.getField(ID).numericValue().intValue(),
+                document.get(WEATHER),
+                document.get(ICON),
+                document.getField(TEMPERATURE).numericValue().doubleValue(),
+                document.get(TEXT),
+                LocalDate.ofEpochDay(document.getField(DATE).numericValue().longValue()),
+                document.get(CITY),
+                document.getField(WEATHER_STALE) != null);
+    }
+}
@@ -1,66 +1,192 @@
 package zerobase.weather.service;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import zerobase.weather.WeatherApplication;
+import zerobase.weather.client.WeatherClient;
+import zerobase.weather.client.WeatherData;
+import zerobase.weather.client.WeatherParser;
+import zerobase.weather.config.ReplicaReadScope;
 import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.DateWeatherId;
 import zerobase.weather.domain.Diary;
+import zerobase.weather.dto.CreateDiary;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.dto.DiaryPage;
 import zerobase.weather.exception.DiaryException;
 import zerobase.weather.repository.DateWeatherRepository;
+import zerobase.weather.repository.DiaryJdbcRepository;
 import zerobase.weather.repository.DiaryRepository;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static zerobase.weather.type.ErrorCode.*;
 
 @Service
 @Transactional(readOnly = true)
 public class DiaryService {
-    @Value("${openWeatherMap.key}")
-    private String apikey;
+    private static final int MAX_PAGE_SIZE = 1000;
 
     private final DateWeatherRepository dateWeatherRepository;
     private final DiaryRepository diaryRepository;
+    private final DiaryJdbcRepository diaryJdbcRepository;
+    private final DiaryStatsService diaryStatsService;
+    private final DateWeatherCache dateWeatherCache;
+    private final DiaryReadCache diaryReadCache;
+    private final DiaryVersionTracker diaryVersionTracker;
+    private final WeatherFetchCoalescer weatherFetchCoalescer;
+    private final WeatherClient weatherClient;
+    private final WeatherParser weatherParser;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int batchSize;
+    private final String defaultCity;
+    // 매일 미리 날씨를 받아 둘 도시 목록
+    private final List<String> cities;
+    // 날씨를 받아 둘 도시와 기본 도시만 요청에 허용한다.
+    private final Set<String> allowedCities;
+    // 날씨 API 로 동시에 보내는 사전 조회 요청 수 (속도 자체는 WeatherClient 의 rate limit 이 제한한다)
+    private final int prefetchConcurrency;
+    private final Timer weatherParseTimer;
+    private final Counter cacheLookupCounter;
+    private final Counter dbLookupCounter;
+    private final Counter apiLookupCounter;
+    private final Counter staleLookupCounter;
 
     private static final Logger logger = LoggerFactory.getLogger(WeatherApplication.class);
 
-    public DiaryService(DateWeatherRepository dateWeatherRepository, DiaryRepository diaryRepository) {
+    public DiaryService(DateWeatherRepository dateWeatherRepository,
+                        DiaryRepository diaryRepository,
+                        DiaryJdbcRepository diaryJdbcRepository,
+                        DiaryStatsService diaryStatsService,
+                        DateWeatherCache dateWeatherCache,
+                        DiaryReadCache diaryReadCache,
+                        DiaryVersionTracker diaryVersionTracker,
+                        WeatherFetchCoalescer weatherFetchCoalescer,
+                        WeatherClient weatherClient,
+                        WeatherParser weatherParser,
+                        MeterRegistry meterRegistry,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager,
+                        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                        TaskExecutor taskExecutor,
+                        @Value("${weather.diary.batch-size:500}") int batchSize,
+                        @Value("${weather.default-city:seoul}") String defaultCity,
+                        @Value("${weather.cities:seoul}") List<String> cities,
+                        @Value("${weather.prefetch.concurrency:4}") int prefetchConcurrency) {
         this.dateWeatherRepository = dateWeatherRepository;
         this.diaryRepository = diaryRepository;
+        this.diaryJdbcRepository = diaryJdbcRepository;
+        this.diaryStatsService = diaryStatsService;
+        this.dateWeatherCache = dateWeatherCache;
+        this.diaryReadCache = diaryReadCache;
+        this.diaryVersionTracker = diaryVersionTracker;
+        this.weatherFetchCoalescer = weatherFetchCoalescer;
+        this.weatherClient = weatherClient;
+        this.weatherParser = weatherParser;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        // 날씨 API 호출이 끝난 뒤 일기와 통계 저장만 짧은 트랜잭션으로 묶는다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        // virtual 프로필에서는 가상 스레드 실행기가 주입된다.
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.defaultCity = defaultCity;
+        this.cities = cities;
+        this.allowedCities = Stream.concat(cities.stream(), Stream.of(defaultCity))
+                .map(city -> city.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.prefetchConcurrency = prefetchConcurrency;
+        this.weatherParseTimer = Timer.builder("weather.parse")
+                .description("날씨 응답 파싱 시간")
+                .register(meterRegistry);
+        // 날씨 데이터를 어디서 가져왔는지(cache / db / api) 집계한다.
+        this.cacheLookupCounter = lookupCounter(meterRegistry, "cache");
+        this.dbLookupCounter = lookupCounter(meterRegistry, "db");
+        this.apiLookupCounter = lookupCounter(meterRegistry, "api");
+        this.staleLookupCounter = lookupCounter(meterRegistry, "stale");
     }
 
-    @Transactional
+    // 도시별 upsert 는 각자 짧은 트랜잭션으로 커밋되므로, 한 도시의 실패가 다른 도시에 영향을 주지 않는다.
+    @Transactional(propagation = Propagation.SUPPORTS)
     @Scheduled(cron = "0 0 1 * * *") // 매일 01시 0분 0초에 실행
     public void saveWeatherDate() {
-        logger.info("Start saving weather data.");
-        dateWeatherRepository.save(getWeatherFromApi());
-        logger.info("Weather data saved successfully.");
+        List<String> targetCities = cities.stream().map(this::normalizeCity).distinct().toList();
+        logger.info("Start saving weather data for {} cities.", targetCities.size());
+        // 애플리케이션 실행기에서 prefetchConcurrency 개의 작업이 남은 도시를 하나씩 가져가 처리한다.
+        Queue<String> pendingCities = new ConcurrentLinkedQueue<>(targetCities);
+        AtomicInteger savedCount = new AtomicInteger();
+        int workerCount = Math.max(1, Math.min(prefetchConcurrency, targetCities.size()));
+        CompletableFuture<?>[] workers = IntStream.range(0, workerCount)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    String city;
+                    while ((city = pendingCities.poll()) != null) {
+                        if (saveWeatherDate(city)) {
+                            savedCount.incrementAndGet();
+                        }
+                    }
+                }, taskExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(workers).join();
+        logger.info("Weather data saved successfully for {}/{} cities.", savedCount.get(), targetCities.size());
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void createDiary(LocalDate date, String text) {
-        logger.info("Start creating diary for date: {}", date);
+    private boolean saveWeatherDate(String city) {
+        try {
+            DateWeather dateWeather = getWeatherFromApi(city);
+            diaryStatsService.saveDateWeather(dateWeather);
+            dateWeatherCache.put(dateWeather);
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Failed to save weather data for city: {}", city, e);
+            return false;
+        }
+    }
+
+    // 날씨 API 를 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 시작하고,
+    // 날씨 저장(coalescer)과 일기 저장은 각각의 짧은 트랜잭션에서 처리한다.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void createDiary(LocalDate date, String city, String text) {
+        logger.debug("Start creating diary for date: {}, city: {}", date, city);
         validateDate(date);
 
         // 날씨 데이터 가져오기 (API OR DB)
-        DateWeather dateWeather = getDateWeather(date);
+        DateWeather dateWeather = getDateWeather(date, normalizeCity(city));
 
         // 파싱된 데이터 + 일기 데이터 DB에 넣기
         Diary nowDiary = new Diary();
@@ -68,137 +194,284 @@ public class DiaryService {
         nowDiary.setText(text);
         nowDiary.setDate(date);
 
-        diaryRepository.save(nowDiary);
-        logger.info("Diary created successfully.");
+        transactionTemplate.executeWithoutResult(status -> {
+            diaryRepository.save(nowDiary);
+            diaryStatsService.recordCreated(List.of(nowDiary));
+            eventPublisher.publishEvent(DiaryChangedEvent.of(date));
+        });
+        logger.info("Diary created successfully for date: {}", date);
+    }
+
+    // createDiary 와 같이 날씨는 트랜잭션 밖에서 모두 가져온 뒤, 저장만 짧은 트랜잭션으로 묶는다.
+    // 커넥션을 잡은 채 날씨 저장용 커넥션을 하나 더 기다리면 동시 요청이 많을 때 풀이 고갈된다.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int createDiaries(List<CreateDiary.Request> requests) {
+        return createDiaries(requests, () -> {
+        });
+    }
+
+    /**
+     * 일기를 저장하는 트랜잭션 안에서 {@code inSameTransaction} 을 함께 실행한다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int createDiaries(List<CreateDiary.Request> requests, Runnable inSameTransaction) {
+        logger.debug("Start creating {} diaries in batch.", requests.size());
+        for (CreateDiary.Request request : requests) {
+            if (request.getDate() == null) {
+                throw new DiaryException(INVALID_DATE);
+            }
+            validateDate(request.getDate());
+        }
+
+        // 날씨 데이터는 (날짜, 도시)별로 한 번만 가져온다.
+        Map<DateWeatherId, DateWeather> dateWeatherById = new HashMap<>();
+        List<Diary> diaries = new ArrayList<>(requests.size());
+        for (CreateDiary.Request request : requests) {
+            DateWeather dateWeather = dateWeatherById.computeIfAbsent(
+                    new DateWeatherId(request.getDate(), normalizeCity(request.getCity())),
+                    id -> getDateWeather(id.getDate(), id.getCity()));
+            Diary diary = new Diary();
+            diary.setDateWeather(dateWeather);
+            diary.setText(request.getText());
+            diary.setDate(request.getDate());
+            diaries.add(diary);
+        }
+
+        int createdCount = transactionTemplate.execute(status -> {
+            int inserted = diaryJdbcRepository.batchInsert(diaries, batchSize);
+            diaryStatsService.recordCreated(diaries);
+            inSameTransaction.run();
+            eventPublisher.publishEvent(new DiaryChangedEvent(dateWeatherById.keySet().stream()
+                    .map(DateWeatherId::getDate)
+                    .collect(Collectors.toSet())));
+            return inserted;
+        });
+        logger.info("{} diaries created successfully.", createdCount);
+        return createdCount;
     }
 
-    @Transactional(readOnly = true)
-    public List<Diary> readDiary(LocalDate date) {
-        logger.info("Start getting diary for date: {}", date);
+    // 캐시 적중 시에는 DB 커넥션을 잡지 않도록 트랜잭션을 열지 않는다.
+    // 읽기 전용으로 표시해 두어야 조회 쿼리가 레플리카로 라우팅된다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<DiaryDto> readDiary(LocalDate date) {
+        logger.debug("Start getting diary for date: {}", date);
         validateDate(date);
 
-        List<Diary> diaryList = diaryRepository.findAllByDate(date);
-        logger.info("Diary retrieved successfully.");
-        return diaryList;
+        Optional<List<DiaryDto>> cachedDiaryList = diaryReadCache.get(date, diaryVersionTracker.getVersion(date));
+        if (cachedDiaryList.isPresent()) {
+            logger.debug("Diary retrieved from cache.");
+            return cachedDiaryList.get();
+        }
+
+        // 버전과 일기를 한 읽기 전용 트랜잭션(같은 커넥션, 같은 스냅샷)에서 읽어 캐시에 넣는다.
+        // 레플리카마다 복제 지연이 달라도 캐시된 일기가 함께 저장한 버전보다 오래되지 않는다.
+        Map.Entry<Long, List<DiaryDto>> versionedDiaryList = readOnlyTransactionTemplate.execute(status -> {
+            try (ReplicaReadScope ignored = ReplicaReadScope.of(date, date)) {
+                long version = diaryVersionTracker.getVersion(date);
+                return Map.entry(version, diaryRepository.findDtosByDate(date));
+            }
+        });
+        diaryReadCache.put(date, versionedDiaryList.getKey(), versionedDiaryList.getValue());
+        logger.debug("Diary retrieved successfully.");
+        return versionedDiaryList.getValue();
     }
 
-    public List<Diary> readDiaries(LocalDate startDate, LocalDate endDate) {
-        logger.info("Start getting diary for date between {} and {}", startDate, endDate);
-        validateDate(startDate);
-        validateDate(endDate);
+    public List<DiaryDto> readDiaries(LocalDate startDate, LocalDate endDate) {
+        logger.debug("Start getting diary for date between {} and {}", startDate, endDate);
+        validateDateRange(startDate, endDate);
 
-        if (startDate.isAfter(endDate)) {
-            throw new DiaryException(START_DATE_MUST_BE_EARLIER_OR_EQUAL_TO_END_DATE);
+        // 레플리카를 고를 때 최근에 이 기간의 일기가 쓰였는지 확인하도록 읽는 범위를 알린다.
+        try (ReplicaReadScope ignored = ReplicaReadScope.of(startDate, endDate)) {
+            List<DiaryDto> diaryList = diaryRepository.findDtosByDateBetween(startDate, endDate);
+            logger.debug("Diary retrieved successfully.");
+            return diaryList;
+        }
+    }
+
+    public DiaryPage readDiaryPage(LocalDate startDate, LocalDate endDate,
+                                   LocalDate afterDate, int afterId, int size) {
+        logger.debug("Start getting diary page for date between {} and {} after ({}, {})",
+                startDate, endDate, afterDate, afterId);
+        validateDateRange(startDate, endDate);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+
+        // 첫 페이지는 시작 날짜의 id 0 이후부터 읽는다.
+        LocalDate cursorDate = afterDate == null ? startDate : afterDate;
+        int cursorId = afterDate == null ? 0 : afterId;
+
+        // 한 건을 더 읽어 다음 페이지 존재 여부를 판단한다.
+        List<DiaryDto> diaryList;
+        try (ReplicaReadScope ignored = ReplicaReadScope.of(startDate, endDate)) {
+            diaryList = diaryRepository.findDtoPageAfter(
+                    startDate, endDate, cursorDate, cursorId, PageRequest.of(0, size + 1));
+        }
+        if (diaryList.size() <= size) {
+            return new DiaryPage(diaryList, null, null);
         }
 
-        List<Diary> diaryList = diaryRepository.findAllByDateBetween(startDate, endDate);
-        logger.info("Diary retrieved successfully.");
-        return diaryList;
+        List<DiaryDto> page = diaryList.subList(0, size);
+        DiaryDto last = page.get(size - 1);
+        logger.debug("Diary page retrieved successfully.");
+        return new DiaryPage(page, last.getDate(), last.getId());
+    }
+
+    // 호출하는 동안 트랜잭션과 커서가 열려 있으므로 consumer 는 바로 내보내기만 해야 한다.
+    public void streamDiaries(LocalDate startDate, LocalDate endDate, Consumer<DiaryDto> consumer) {
+        logger.debug("Start streaming diary for date between {} and {}", startDate, endDate);
+        validateDateRange(startDate, endDate);
+
+        // DTO 프로젝션이라 영속성 컨텍스트에 쌓이지 않으므로 메모리 사용량이 일정하다.
+        try (ReplicaReadScope ignored = ReplicaReadScope.of(startDate, endDate);
+             Stream<DiaryDto> diaryStream = diaryRepository.streamDtosByDateBetween(startDate, endDate)) {
+            diaryStream.forEach(consumer);
+        }
+        logger.debug("Diary streamed successfully.");
     }
 
     @Transactional
-    public void updateDiary(LocalDate date, String text) {
-        logger.info("Start updating diary for date: {}", date);
+    public int updateDiary(LocalDate date, String text) {
+        logger.debug("Start updating diary for date: {}", date);
         validateDate(date);
-        Diary nowDiary = diaryRepository.getFirstByDate(date);
-        nowDiary.setText(text);
-        diaryRepository.save(nowDiary);
-        logger.info("Diary updated successfully.");
+        Integer firstDiaryId = diaryRepository.findFirstIdByDate(date);
+        if (firstDiaryId == null) {
+            throw new DiaryException(DIARY_NOT_FOUND);
+        }
+        int updatedCount = diaryRepository.updateTextById(firstDiaryId, text);
+        eventPublisher.publishEvent(DiaryChangedEvent.of(date));
+        logger.info("Diary updated successfully for date: {} ({} row)", date, updatedCount);
+        return updatedCount;
     }
 
     @Transactional
-    public void deleteDiary(LocalDate date) {
-        logger.info("Start deleting diary for date: {}", date);
+    public int deleteDiary(LocalDate date) {
+        logger.debug("Start deleting diary for date: {}", date);
         validateDate(date);
-        diaryRepository.deleteAllByDate(date);
-        logger.info("Diary deleted successfully.");
+        // 삭제할 일기를 잠그고 통계에서 먼저 빼 둔다.
+        diaryStatsService.recordDeleted(date);
+        int deletedCount = diaryRepository.deleteAllByDateInBulk(date);
+        if (deletedCount > 0) {
+            eventPublisher.publishEvent(DiaryChangedEvent.of(date));
+        }
+        logger.info("Diary deleted successfully for date: {} ({} rows)", date, deletedCount);
+        return deletedCount;
     }
 
-    protected DateWeather getDateWeather(LocalDate date) {
-        logger.info("Start getting dateWeather for date: {}", date);
+    protected DateWeather getDateWeather(LocalDate date, String city) {
+        logger.debug("Start getting dateWeather for date: {}, city: {}", date, city);
         validateDate(date);
-        List<DateWeather> dateWeatherListFromDB = dateWeatherRepository.findAllByDate(date);
-        if (dateWeatherListFromDB.isEmpty()) {
-            // 과거 데이터 -> 과금
-            // 따라서, 정책 : 과거 날짜의 경우 현재 날씨를 가져온다.
+        Optional<DateWeather> cachedDateWeather = dateWeatherCache.get(date, city);
+        if (cachedDateWeather.isPresent()) {
+            logger.debug("DateWeather retrieved from cache.");
+            cacheLookupCounter.increment();
+            return cachedDateWeather.get();
+        }
 
-            return getWeatherFromApi();
+        Optional<DateWeather> dateWeatherFromDB = dateWeatherRepository.findByDateAndCity(date, city);
+        if (dateWeatherFromDB.isEmpty()) {
+            // 과거 데이터 -> 과금
+            // 따라서, 정책 : 과거 날짜의 경우 현재 날씨를 가져온다. 저장과 캐시는 오늘 날짜일 때만 한다.
+            // 같은 (날짜, 도시)로 동시에 들어온 요청은 하나의 API 호출 결과를 공유한다.
+            apiLookupCounter.increment();
+            DateWeather dateWeatherFromApi;
+            try {
+                dateWeatherFromApi = weatherFetchCoalescer.fetch(date, city, () -> getWeatherFromApi(city));
+            } catch (DiaryException e) {
+                return getStaleDateWeather(date, city, e);
+            }
+            if (WeatherFetchCoalescer.isFetchedFor(dateWeatherFromApi, new DateWeatherId(date, city))) {
+                dateWeatherCache.put(date, dateWeatherFromApi);
+            }
+            return dateWeatherFromApi;
         }
-        DateWeather dateWeather = dateWeatherListFromDB.get(0);
-        logger.info("DateWeather retrieved successfully.");
+        dbLookupCounter.increment();
+        DateWeather dateWeather = dateWeatherFromDB.get();
+        dateWeatherCache.put(date, dateWeather);
+        logger.debug("DateWeather retrieved successfully.");
         return dateWeather;
     }
 
-    protected DateWeather getWeatherFromApi() {
-        logger.info("Start getting dateWeather from APi");
-        String weatherData = getWeatherString();
-        Map<String, Object> parsedWeather = parseWeather(weatherData);
+    // 날씨 API 가 실패하면 해당 도시의 가장 최근 날씨로 대신하고 stale 로 표시한다.
+    // 캐시에 넣지 않으므로 API 가 회복되면 다음 요청부터 다시 최신 날씨를 가져온다.
+    private DateWeather getStaleDateWeather(LocalDate date, String city, DiaryException cause) {
+        DateWeather latest = dateWeatherRepository.findFirstByCityAndDateLessThanEqualOrderByDateDesc(city, LocalDate.now())
+                .orElseThrow(() -> cause);
+        logger.warn("Weather API unavailable ({}), using stale weather of {} for date: {}, city: {}",
+                cause.getErrorCode(), latest.getDate(), date, city);
+        staleLookupCounter.increment();
+        DateWeather stale = new DateWeather();
+        stale.setDate(date);
+        stale.setCity(city);
+        stale.setWeather(latest.getWeather());
+        stale.setIcon(latest.getIcon());
+        stale.setTemperature(latest.getTemperature());
+        stale.setStale(true);
+        return stale;
+    }
+
+    // 백필 작업처럼 다른 빈에서 호출될 때도 API 응답을 기다리는 동안 트랜잭션을 열지 않는다.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    protected DateWeather getWeatherFromApi(String city) {
+        logger.debug("Start getting dateWeather from APi for city: {}", city);
+        String weatherString = getWeatherString(city);
+        WeatherData weatherData = weatherParseTimer.record(() -> weatherParser.parse(weatherString));
         DateWeather dateWeather = new DateWeather();
         dateWeather.setDate(LocalDate.now());
-        dateWeather.setWeather(parsedWeather.get("main").toString());
-        dateWeather.setIcon(parsedWeather.get("icon").toString());
-        dateWeather.setTemperature((double) parsedWeather.get("temp"));
-        logger.info("DateWeather retrieved successfully from API.");
+        dateWeather.setCity(city);
+        dateWeather.setWeather(weatherData.getWeather());
+        dateWeather.setIcon(weatherData.getIcon());
+        dateWeather.setTemperature(weatherData.getTemperature());
+        logger.debug("DateWeather retrieved successfully from API.");
         return dateWeather;
     }
 
-    private String getWeatherString() {
-        logger.info("Start getting weather data string from API.");
-        String apiUrl = "https://api.openweathermap.org/data/2.5/weather?q=seoul&&APPID=" + apikey;
+    private String getWeatherString(String city) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
-            BufferedReader br = getBufferedReader(apiUrl);
-
-            String inputLine;
-            StringBuilder response = new StringBuilder();
-            while ((inputLine = br.readLine()) != null) {
-                response.append(inputLine);
-            }
-            br.close();
-            logger.info("Weather data string retrieved successfully from API.");
-            return response.toString();
-        } catch (IOException e) {
-            throw new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API);
+            return weatherClient.fetchWeather(city);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("weather.api.call", "outcome", outcome));
         }
     }
 
-    private static BufferedReader getBufferedReader(String apiUrl) throws IOException {
-        logger.info("Start getting buffered reader from api url.");
-        URL url = new URL(apiUrl);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
-        int responseCode = connection.getResponseCode();
-        BufferedReader br;
-        if (responseCode == 200) {
-            br = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-
-        } else {
-            br = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
+    // 도시 이름은 대소문자와 앞뒤 공백을 무시하고 같은 키로 다룬다. 지정하지 않으면 기본 도시를 쓴다.
+    // weather.cities 에 없는 도시는 날씨 API 를 호출하기 전에 거절한다.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String normalizeCity(String city) {
+        if (city == null || city.isBlank()) {
+            return defaultCity.trim().toLowerCase(Locale.ROOT);
         }
-        logger.info("Buffered reader retrieved successfully from api url .");
-        return br;
+        String normalizedCity = city.trim().toLowerCase(Locale.ROOT);
+        if (!allowedCities.contains(normalizedCity)) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+        return normalizedCity;
     }
 
-    private Map<String, Object> parseWeather(String jsonString) {
-        logger.info("Start parsing weather json string.");
-        JSONParser jsonParser = new JSONParser();
-        JSONObject jsonObject;
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("weather.lookup")
+                .description("날씨 데이터 조회 출처별 횟수")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
 
-        try {
-            jsonObject = (JSONObject) jsonParser.parse(jsonString);
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
-        }
-        Map<String, Object> resultMap = new HashMap<>();
-        JSONObject mainData = (JSONObject) jsonObject.get("main");
-        resultMap.put("temp", mainData.get("temp"));
+    // 순수 검증이므로 컨트롤러에서 호출해도 트랜잭션을 열지 않는다.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        validateDate(startDate);
+        validateDate(endDate);
 
-        JSONObject weatherData = (JSONObject) ((JSONArray) jsonObject.get("weather")).get(0);
-        resultMap.put("main", weatherData.get("main"));
-        resultMap.put("icon", weatherData.get("icon"));
-        logger.info("Weather json string parsed successfully.");
-        return resultMap;
+        if (startDate.isAfter(endDate)) {
+            throw new DiaryException(START_DATE_MUST_BE_EARLIER_OR_EQUAL_TO_END_DATE);
+        }
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void validateDate(LocalDate date) {
         if (date.isAfter(LocalDate.of(2100, 1, 1))
                 || date.isBefore(LocalDate.of(1900, 1, 1))) {
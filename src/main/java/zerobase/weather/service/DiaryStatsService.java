@@ -0,0 +1,127 @@
+package zerobase.weather.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.Diary;
+import zerobase.weather.dto.DiaryStatDto;
+import zerobase.weather.dto.WeatherStatDto;
+import zerobase.weather.repository.DateWeatherRepository;
+import zerobase.weather.repository.DiaryStatsJdbcRepository;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatDelta;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatKey;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static zerobase.weather.repository.DiaryStatsJdbcRepository.nullToEmpty;
+
+/**
+ * 일별/월별 통계 롤업을 증분으로 갱신하고 조회한다.
+ * 조회 비용은 일기 수가 아니라 기간(일 또는 월) x 날씨 종류 수에 비례한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DiaryStatsService {
+    private final DiaryStatsJdbcRepository diaryStatsJdbcRepository;
+    private final DateWeatherRepository dateWeatherRepository;
+    private final DateWeatherCache dateWeatherCache;
+
+    public DiaryStatsService(DiaryStatsJdbcRepository diaryStatsJdbcRepository,
+                             DateWeatherRepository dateWeatherRepository,
+                             DateWeatherCache dateWeatherCache) {
+        this.diaryStatsJdbcRepository = diaryStatsJdbcRepository;
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.dateWeatherCache = dateWeatherCache;
+    }
+
+    // 일기 저장과 같은 트랜잭션에서 호출한다.
+    @Transactional
+    public void recordCreated(List<Diary> diaries) {
+        SortedMap<StatKey, StatDelta> daily = new TreeMap<>();
+        SortedMap<StatKey, StatDelta> monthly = new TreeMap<>();
+        for (Diary diary : diaries) {
+            StatDelta delta = new StatDelta(1, diary.getTemperature());
+            String weather = nullToEmpty(diary.getWeather());
+            daily.merge(new StatKey(diary.getDate(), weather), delta, StatDelta::plus);
+            monthly.merge(new StatKey(monthStart(diary.getDate()), weather), delta, StatDelta::plus);
+        }
+        diaryStatsJdbcRepository.addDaily(daily);
+        diaryStatsJdbcRepository.addMonthly(monthly);
+    }
+
+    // 해당 날짜의 일기를 모두 지우기 직전에, 같은 트랜잭션에서 호출한다.
+    @Transactional
+    public void recordDeleted(LocalDate date) {
+        SortedMap<StatKey, StatDelta> monthly = new TreeMap<>();
+        for (Map.Entry<String, Double> diary : diaryStatsJdbcRepository.lockDiaryWeatherByDate(date)) {
+            monthly.merge(new StatKey(monthStart(date), diary.getKey()),
+                    new StatDelta(1, diary.getValue()).negate(), StatDelta::plus);
+        }
+        diaryStatsJdbcRepository.deleteDaily(date);
+        diaryStatsJdbcRepository.addMonthly(monthly);
+    }
+
+    // date_weather 에 처음 들어간 날만 날짜 수를 더한다.
+    // 이미 있는 날을 덮어쓰면 기존 행을 잠그고 읽어, 이전 날씨를 통계에서 빼고 새 날씨를 더한다.
+    @Transactional
+    public void saveDateWeather(DateWeather dateWeather) {
+        LocalDate date = dateWeather.getDate();
+        String city = dateWeather.getCity();
+        SortedMap<StatKey, StatDelta> weather = new TreeMap<>();
+        Optional<Map.Entry<String, Double>> previous = diaryStatsJdbcRepository.lockDateWeather(date, city);
+        if (previous.isEmpty() && dateWeatherRepository.insertIgnore(dateWeather) == 1) {
+            weather.put(new StatKey(monthStart(date), nullToEmpty(dateWeather.getWeather())),
+                    new StatDelta(1, dateWeather.getTemperature()));
+        } else {
+            // 잠근 뒤 다른 트랜잭션이 먼저 넣었다면 그 행을 다시 잠가 읽는다.
+            Map.Entry<String, Double> overwritten = previous
+                    .or(() -> diaryStatsJdbcRepository.lockDateWeather(date, city))
+                    .orElseThrow();
+            dateWeatherRepository.upsert(dateWeather);
+            weather.merge(new StatKey(monthStart(date), overwritten.getKey()),
+                    new StatDelta(1, overwritten.getValue()).negate(), StatDelta::plus);
+            weather.merge(new StatKey(monthStart(date), nullToEmpty(dateWeather.getWeather())),
+                    new StatDelta(1, dateWeather.getTemperature()), StatDelta::plus);
+            evictAfterCommit(date, city);
+        }
+        diaryStatsJdbcRepository.addWeather(city, weather);
+    }
+
+    public List<DiaryStatDto> getDailyStats(LocalDate startDate, LocalDate endDate) {
+        return diaryStatsJdbcRepository.findDaily(startDate, endDate);
+    }
+
+    public List<DiaryStatDto> getMonthlyStats(YearMonth startMonth, YearMonth endMonth) {
+        return diaryStatsJdbcRepository.findMonthly(startMonth.atDay(1), endMonth.atDay(1));
+    }
+
+    public List<WeatherStatDto> getWeatherStats(String city, YearMonth startMonth, YearMonth endMonth) {
+        return diaryStatsJdbcRepository.findWeatherMonthly(city, startMonth.atDay(1), endMonth.atDay(1));
+    }
+
+    // 덮어쓴 날씨가 커밋되면 캐시에 남은 이전 날씨를 버린다. 롤백되면 캐시도 그대로 둔다.
+    private void evictAfterCommit(LocalDate date, String city) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dateWeatherCache.evict(date, city);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dateWeatherCache.evict(date, city);
+            }
+        });
+    }
+
+    private static LocalDate monthStart(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+}
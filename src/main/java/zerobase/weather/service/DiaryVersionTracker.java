@@ -0,0 +1,56 @@
+package zerobase.weather.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import zerobase.weather.repository.DiaryVersionJdbcRepository;
+
+import java.time.LocalDate;
+
+/**
+ * 날짜별 일기 버전. 일기가 바뀔 때마다 해당 날짜의 버전을 diary_version 에서 하나씩 올리고,
+ * 기간의 버전은 그 기간에 속한 날짜 버전의 합으로 본다.
+ * DB 에 두므로 여러 인스턴스가 같은 버전으로 조회 캐시를 검증하고, 재시작해도 ETag 가 바뀌지 않는다.
+ */
+@Component
+public class DiaryVersionTracker {
+    private final DiaryVersionJdbcRepository diaryVersionJdbcRepository;
+
+    public DiaryVersionTracker(DiaryVersionJdbcRepository diaryVersionJdbcRepository) {
+        this.diaryVersionJdbcRepository = diaryVersionJdbcRepository;
+    }
+
+    // 일기를 쓰는 트랜잭션 안에서 발행되므로 같은 트랜잭션에서 버전을 올린다. 롤백되면 버전도 그대로다.
+    // R2DBC 로 저장한 일기(reactive 프로필)는 ReactiveDiaryRepository 가 그 트랜잭션에서 직접 올린다.
+    @EventListener
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            diaryVersionJdbcRepository.increment(event.getDates());
+        }
+    }
+
+    public long getVersion(LocalDate date) {
+        return diaryVersionJdbcRepository.findVersion(date);
+    }
+
+    public long getVersion(LocalDate startDate, LocalDate endDate) {
+        return diaryVersionJdbcRepository.sumVersions(startDate, endDate);
+    }
+
+    public String getETag(LocalDate date) {
+        return eTag(getVersion(date));
+    }
+
+    public String getETag(LocalDate startDate, LocalDate endDate) {
+        return eTag(getVersion(startDate, endDate));
+    }
+
+    // 같은 기간이라도 응답 형식이 다르면 ETag 가 달라야 한다.
+    public String getETag(LocalDate startDate, LocalDate endDate, String representation) {
+        return "\"" + getVersion(startDate, endDate) + "-" + representation + "\"";
+    }
+
+    public static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+}
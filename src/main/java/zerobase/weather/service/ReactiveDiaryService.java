@@ -0,0 +1,228 @@
+package zerobase.weather.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import zerobase.weather.client.WeatherClient;
+import zerobase.weather.client.WeatherData;
+import zerobase.weather.client.WeatherParser;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.DateWeatherId;
+import zerobase.weather.domain.Diary;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatDelta;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatKey;
+import zerobase.weather.repository.ReactiveDiaryRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static zerobase.weather.repository.DiaryStatsJdbcRepository.nullToEmpty;
+
+/**
+ * DiaryService 의 일기 저장/조회를 블로킹 없이 처리한다. (reactive 프로필)
+ * 날씨 API 는 WeatherClient 의 비동기 호출을, DB 는 R2DBC 를 쓰므로 응답을 기다리는 동안 스레드를 잡지 않는다.
+ * 날씨 캐시, 일기 조회 캐시, 버전, 통계, 변경 이벤트는 서블릿 스택과 같은 빈과 테이블을 쓴다.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveDiaryService {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveDiaryService.class);
+
+    // 같은 (날짜, 도시)로 동시에 들어온 요청은 하나의 API 호출 결과를 공유한다.
+    private final ConcurrentMap<DateWeatherId, Mono<DateWeather>> inFlight = new ConcurrentHashMap<>();
+
+    private final ReactiveDiaryRepository reactiveDiaryRepository;
+    private final DiaryService diaryService;
+    private final DateWeatherCache dateWeatherCache;
+    private final DiaryReadCache diaryReadCache;
+    private final WeatherClient weatherClient;
+    private final WeatherParser weatherParser;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReactiveDiaryService(ReactiveDiaryRepository reactiveDiaryRepository,
+                                DiaryService diaryService,
+                                DateWeatherCache dateWeatherCache,
+                                DiaryReadCache diaryReadCache,
+                                WeatherClient weatherClient,
+                                WeatherParser weatherParser,
+                                TransactionalOperator transactionalOperator,
+                                MeterRegistry meterRegistry,
+                                ApplicationEventPublisher eventPublisher) {
+        this.reactiveDiaryRepository = reactiveDiaryRepository;
+        this.diaryService = diaryService;
+        this.dateWeatherCache = dateWeatherCache;
+        this.diaryReadCache = diaryReadCache;
+        this.weatherClient = weatherClient;
+        this.weatherParser = weatherParser;
+        this.transactionalOperator = transactionalOperator;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Mono<Void> createDiary(LocalDate date, String city, String text) {
+        return Mono.fromRunnable(() -> diaryService.validateDate(date))
+                .then(Mono.defer(() -> getDateWeather(date, diaryService.normalizeCity(city))))
+                .flatMap(dateWeather -> {
+                    Diary diary = new Diary();
+                    diary.setDateWeather(dateWeather);
+                    diary.setText(text);
+                    diary.setDate(date);
+                    return reactiveDiaryRepository.insertDiary(diary)
+                            .then(reactiveDiaryRepository.addDiaryStats(diary))
+                            .then(reactiveDiaryRepository.incrementDiaryVersion(date))
+                            .as(transactionalOperator::transactional);
+                })
+                // R2DBC 트랜잭션은 이벤트 리스너가 알 수 없으므로 커밋이 끝난 뒤에 직접 발행한다.
+                .then(Mono.fromRunnable(() -> {
+                    eventPublisher.publishEvent(DiaryChangedEvent.of(date));
+                    logger.info("Diary created successfully for date: {}", date);
+                }));
+    }
+
+    public Mono<List<DiaryDto>> readDiary(LocalDate date) {
+        return Mono.fromRunnable(() -> diaryService.validateDate(date))
+                .then(Mono.defer(() -> reactiveDiaryRepository.findDiaryVersion(date)))
+                .flatMap(version -> {
+                    Optional<List<DiaryDto>> cachedDiaryList = diaryReadCache.get(date, version);
+                    if (cachedDiaryList.isPresent()) {
+                        return Mono.just(cachedDiaryList.get());
+                    }
+                    // 버전과 일기를 한 트랜잭션에서 다시 읽어 캐시에 넣는다. (DiaryService.readDiary 와 같은 규칙)
+                    return reactiveDiaryRepository.findDiaryVersion(date)
+                            .flatMap(readVersion -> reactiveDiaryRepository.findDtosByDate(date)
+                                    .collectList()
+                                    .doOnNext(diaryList -> diaryReadCache.put(date, readVersion, diaryList)))
+                            .as(transactionalOperator::transactional);
+                });
+    }
+
+    public Mono<String> getETag(LocalDate date) {
+        return reactiveDiaryRepository.findDiaryVersion(date).map(DiaryVersionTracker::eTag);
+    }
+
+    public Mono<String> getETag(LocalDate startDate, LocalDate endDate) {
+        return reactiveDiaryRepository.sumDiaryVersions(startDate, endDate).map(DiaryVersionTracker::eTag);
+    }
+
+    public Flux<DiaryDto> readDiaries(LocalDate startDate, LocalDate endDate) {
+        return Mono.fromRunnable(() -> diaryService.validateDateRange(startDate, endDate))
+                .thenMany(Flux.defer(() -> reactiveDiaryRepository.findDtosByDateBetween(startDate, endDate)));
+    }
+
+    Mono<DateWeather> getDateWeather(LocalDate date, String city) {
+        Optional<DateWeather> cachedDateWeather = dateWeatherCache.get(date, city);
+        if (cachedDateWeather.isPresent()) {
+            countLookup("cache");
+            return Mono.just(cachedDateWeather.get());
+        }
+        return reactiveDiaryRepository.findDateWeather(date, city)
+                .doOnNext(dateWeather -> countLookup("db"))
+                .switchIfEmpty(Mono.defer(() -> fetchDateWeather(date, city)))
+                .doOnNext(dateWeather -> {
+                    if (!dateWeather.isStale()
+                            && WeatherFetchCoalescer.isFetchedFor(dateWeather, new DateWeatherId(date, city))) {
+                        dateWeatherCache.put(date, dateWeather);
+                    }
+                });
+    }
+
+    // 과거 날씨는 유료이므로 DiaryService 와 같이 현재 날씨를 가져온다.
+    // 요청한 날짜가 오늘일 때만 저장하고, 다른 날짜는 저장하지 않고 돌려주기만 한다.
+    private Mono<DateWeather> fetchDateWeather(LocalDate date, String city) {
+        DateWeatherId key = new DateWeatherId(date, city);
+        return inFlight.computeIfAbsent(key, id -> {
+                    countLookup("api");
+                    return Mono.fromFuture(() -> weatherClient.fetchWeatherAsync(city))
+                            .map(weatherString -> toDateWeather(LocalDate.now(), city, weatherParser.parse(weatherString)))
+                            .flatMap(dateWeather -> WeatherFetchCoalescer.isFetchedFor(dateWeather, id)
+                                    ? saveDateWeather(dateWeather).thenReturn(dateWeather)
+                                    : Mono.just(dateWeather))
+                            .doFinally(signal -> inFlight.remove(id))
+                            .cache();
+                })
+                .onErrorResume(DiaryException.class, e -> getStaleDateWeather(date, city, e));
+    }
+
+    // DiaryStatsService.saveDateWeather 와 같은 규칙으로 날씨 통계를 갱신한다.
+    // 처음 들어간 날은 더하고, 이미 있는 날을 덮어쓰면 잠근 기존 행의 날씨를 빼고 새 날씨를 더한다.
+    private Mono<Void> saveDateWeather(DateWeather dateWeather) {
+        LocalDate date = dateWeather.getDate();
+        String city = dateWeather.getCity();
+        return reactiveDiaryRepository.lockDateWeather(date, city)
+                .flatMap(previous -> overwriteDateWeather(dateWeather, previous))
+                .switchIfEmpty(Mono.defer(() -> reactiveDiaryRepository.insertIgnoreDateWeather(dateWeather)
+                        .flatMap(inserted -> inserted == 1
+                                ? reactiveDiaryRepository.addWeatherStat(dateWeather)
+                                // 잠근 뒤 다른 트랜잭션이 먼저 넣었다면 그 행을 다시 잠가 읽는다.
+                                : reactiveDiaryRepository.lockDateWeather(date, city)
+                                .flatMap(previous -> overwriteDateWeather(dateWeather, previous)))))
+                .then()
+                .as(transactionalOperator::transactional)
+                // DiaryStatsService 와 같이 커밋 뒤에 캐시의 이전 날씨를 버린다. 처음 넣은 날은 캐시에 없어 영향이 없다.
+                .then(Mono.fromRunnable(() -> dateWeatherCache.evict(date, city)));
+    }
+
+    private Mono<Long> overwriteDateWeather(DateWeather dateWeather, Map.Entry<String, Double> previous) {
+        LocalDate monthStart = dateWeather.getDate().withDayOfMonth(1);
+        SortedMap<StatKey, StatDelta> weather = new TreeMap<>();
+        weather.merge(new StatKey(monthStart, previous.getKey()),
+                new StatDelta(1, previous.getValue()).negate(), StatDelta::plus);
+        weather.merge(new StatKey(monthStart, nullToEmpty(dateWeather.getWeather())),
+                new StatDelta(1, dateWeather.getTemperature()), StatDelta::plus);
+        // 키 순서대로 갱신해 교착 상태를 피한다.
+        return reactiveDiaryRepository.upsertDateWeather(dateWeather)
+                .thenMany(Flux.fromIterable(weather.entrySet()))
+                .concatMap(entry -> reactiveDiaryRepository.addWeatherStat(
+                        dateWeather.getCity(), entry.getKey(), entry.getValue()))
+                .count();
+    }
+
+    private Mono<DateWeather> getStaleDateWeather(LocalDate date, String city, DiaryException cause) {
+        return reactiveDiaryRepository.findLatestDateWeather(city)
+                .switchIfEmpty(Mono.error(cause))
+                .map(latest -> {
+                    logger.warn("Weather API unavailable ({}), using stale weather of {} for date: {}, city: {}",
+                            cause.getErrorCode(), latest.getDate(), date, city);
+                    countLookup("stale");
+                    DateWeather stale = new DateWeather();
+                    stale.setDate(date);
+                    stale.setCity(city);
+                    stale.setWeather(latest.getWeather());
+                    stale.setIcon(latest.getIcon());
+                    stale.setTemperature(latest.getTemperature());
+                    stale.setStale(true);
+                    return stale;
+                });
+    }
+
+    private static DateWeather toDateWeather(LocalDate date, String city, WeatherData weatherData) {
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(date);
+        dateWeather.setCity(city);
+        dateWeather.setWeather(weatherData.getWeather());
+        dateWeather.setIcon(weatherData.getIcon());
+        dateWeather.setTemperature(weatherData.getTemperature());
+        return dateWeather;
+    }
+
+    // DiaryService 가 등록한 weather.lookup 카운터를 함께 쓴다.
+    private void countLookup(String source) {
+        meterRegistry.counter("weather.lookup", "source", source).increment();
+    }
+}
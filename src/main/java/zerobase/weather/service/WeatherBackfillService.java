@@ -0,0 +1,262 @@
+package zerobase.weather.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import zerobase.weather.domain.BackfillJob;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.DateWeatherId;
+import zerobase.weather.dto.BackfillJobDto;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.BackfillJobRepository;
+import zerobase.weather.repository.DateWeatherRepository;
+import zerobase.weather.type.BackfillStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static zerobase.weather.type.ErrorCode.*;
+
+/**
+ * date_weather 에 빠진 날짜를 찾아 채운다.
+ * 날씨 API 는 현재 날씨만 주므로 실제로 채우는 날짜는 오늘뿐이고, 빠진 과거 날짜는 호출 없이 실패로 기록한다.
+ * 날짜별로 bounded 풀에서 병렬로 가져오고, 실패하면 지수 백오프로 재시도한다.
+ * 진행 상황은 날짜 하나가 끝날 때마다 weather_backfill_job 에 기록하고,
+ * 재시작 시 RUNNING 상태의 작업을 체크포인트 다음 날부터 이어서 진행한다.
+ */
+@Service
+public class WeatherBackfillService {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherBackfillService.class);
+
+    // 도시별로 한 작업만 진행한다.
+    private final ConcurrentMap<String, JobProgress> runningJobs = new ConcurrentHashMap<>();
+
+    private final DateWeatherRepository dateWeatherRepository;
+    private final BackfillJobRepository backfillJobRepository;
+    private final WeatherFetchCoalescer weatherFetchCoalescer;
+    private final DateWeatherCache dateWeatherCache;
+    private final DiaryService diaryService;
+    private final ExecutorService executor;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final int maxDays;
+    private final int maxPastDays;
+
+    public WeatherBackfillService(DateWeatherRepository dateWeatherRepository,
+                                  BackfillJobRepository backfillJobRepository,
+                                  WeatherFetchCoalescer weatherFetchCoalescer,
+                                  DateWeatherCache dateWeatherCache,
+                                  DiaryService diaryService,
+                                  @Value("${weather.backfill.concurrency:4}") int concurrency,
+                                  @Value("${weather.backfill.max-attempts:3}") int maxAttempts,
+                                  @Value("${weather.backfill.backoff:500ms}") Duration backoff,
+                                  @Value("${weather.backfill.max-days:31}") int maxDays,
+                                  @Value("${weather.backfill.max-past-days:31}") int maxPastDays) {
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.backfillJobRepository = backfillJobRepository;
+        this.weatherFetchCoalescer = weatherFetchCoalescer;
+        this.dateWeatherCache = dateWeatherCache;
+        this.diaryService = diaryService;
+        this.executor = Executors.newFixedThreadPool(concurrency);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxDays = maxDays;
+        this.maxPastDays = maxPastDays;
+    }
+
+    public BackfillJobDto startBackfill(LocalDate startDate, LocalDate endDate, String city) {
+        diaryService.validateDateRange(startDate, endDate);
+        if (endDate.isAfter(LocalDate.now())) {
+            // 미래 날짜의 날씨는 가져올 수 없다.
+            throw new DiaryException(INVALID_REQUEST);
+        }
+        // 한 작업이 훑는 기간과 거슬러 올라가는 날 수를 제한한다.
+        if (startDate.plusDays(maxDays).isBefore(endDate.plusDays(1))
+                || startDate.isBefore(LocalDate.now().minusDays(maxPastDays))) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+        String normalizedCity = diaryService.normalizeCity(city);
+
+        BackfillJob job = new BackfillJob();
+        job.setCity(normalizedCity);
+        job.setStartDate(startDate);
+        job.setEndDate(endDate);
+        job.setStatus(BackfillStatus.RUNNING);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+
+        JobProgress progress = new JobProgress(job);
+        if (runningJobs.putIfAbsent(normalizedCity, progress) != null) {
+            throw new DiaryException(BACKFILL_ALREADY_RUNNING);
+        }
+        try {
+            backfillJobRepository.save(job);
+            run(progress, startDate);
+        } catch (RuntimeException e) {
+            runningJobs.remove(normalizedCity, progress);
+            throw e;
+        }
+        logger.info("Backfill job {} started for {} between {} and {}: {} missing dates.",
+                job.getId(), normalizedCity, startDate, endDate, job.getTotalCount());
+        return BackfillJobDto.from(job);
+    }
+
+    public BackfillJobDto getBackfill(long jobId) {
+        return backfillJobRepository.findById(jobId)
+                .map(BackfillJobDto::from)
+                .orElseThrow(() -> new DiaryException(BACKFILL_JOB_NOT_FOUND));
+    }
+
+    // 재시작 등으로 중단된 작업을 이어서 진행한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (BackfillJob job : backfillJobRepository.findAllByStatus(BackfillStatus.RUNNING)) {
+            JobProgress progress = new JobProgress(job);
+            if (runningJobs.putIfAbsent(job.getCity(), progress) != null) {
+                continue;
+            }
+            LocalDate resumeFrom = job.getCheckpointDate() == null
+                    ? job.getStartDate()
+                    : job.getCheckpointDate().plusDays(1);
+            logger.info("Resuming backfill job {} for {} from {}.", job.getId(), job.getCity(), resumeFrom);
+            run(progress, resumeFrom);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(JobProgress progress, LocalDate resumeFrom) {
+        BackfillJob job = progress.job;
+        List<LocalDate> missingDates = findMissingDates(job.getCity(), resumeFrom, job.getEndDate());
+        progress.start(missingDates);
+
+        List<CompletableFuture<Void>> tasks = missingDates.stream()
+                .map(date -> CompletableFuture.runAsync(() -> backfillDate(progress, date), executor))
+                .toList();
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, e) -> finish(progress));
+    }
+
+    List<LocalDate> findMissingDates(String city, LocalDate startDate, LocalDate endDate) {
+        Set<LocalDate> existingDates = new HashSet<>(
+                dateWeatherRepository.findDatesByCityAndDateBetween(city, startDate, endDate));
+        return startDate.datesUntil(endDate.plusDays(1))
+                .filter(date -> !existingDates.contains(date))
+                .toList();
+    }
+
+    private void backfillDate(JobProgress progress, LocalDate date) {
+        String city = progress.job.getCity();
+        // 과거 날씨를 주는 API 가 없으므로 지난 날짜는 현재 날씨로 지어내 저장하지 않고 실패로 남긴다.
+        if (!date.equals(LocalDate.now())) {
+            logger.debug("Backfill for {} on {} skipped: no historical weather source.", city, date);
+            progress.done(date, false);
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                DateWeather dateWeather = weatherFetchCoalescer.fetch(date, city,
+                        () -> diaryService.getWeatherFromApi(city));
+                // 일기 저장 요청이 먼저 시작한 조회에 합류했을 수 있으므로,
+                // 이 날짜의 행이 실제로 저장됐는지 확인한 뒤에 완료로 기록해 체크포인트가 빈 날짜를 넘지 않게 한다.
+                if (!dateWeatherRepository.existsById(new DateWeatherId(date, city))) {
+                    throw new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API);
+                }
+                dateWeatherCache.put(date, dateWeather);
+                progress.done(date, true);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Backfill for {} on {} failed after {} attempts: {}",
+                            city, date, attempt, e.getMessage());
+                    progress.done(date, false);
+                    return;
+                }
+                logger.debug("Backfill for {} on {} failed (attempt {}), retrying.", city, date, attempt);
+                if (!sleep(backoff.multipliedBy(1L << (attempt - 1)))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void finish(JobProgress progress) {
+        BackfillJob job = progress.job;
+        // 종료 중에 중단된 작업은 RUNNING 으로 남겨 두어 다음 기동 시 이어서 진행한다.
+        if (!executor.isShutdown()) {
+            progress.complete();
+            logger.info("Backfill job {} finished: {} filled, {} failed.",
+                    job.getId(), job.getCompletedCount(), job.getFailedCount());
+        }
+        runningJobs.remove(job.getCity(), progress);
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private final class JobProgress {
+        private final BackfillJob job;
+        private final NavigableSet<LocalDate> pendingDates = new ConcurrentSkipListSet<>();
+        private final AtomicInteger completed;
+        private final AtomicInteger failed;
+
+        private JobProgress(BackfillJob job) {
+            this.job = job;
+            this.completed = new AtomicInteger(job.getCompletedCount());
+            this.failed = new AtomicInteger(job.getFailedCount());
+        }
+
+        private synchronized void start(List<LocalDate> missingDates) {
+            pendingDates.addAll(missingDates);
+            job.setTotalCount(completed.get() + failed.get() + missingDates.size());
+            save(BackfillStatus.RUNNING);
+        }
+
+        private synchronized void done(LocalDate date, boolean succeeded) {
+            pendingDates.remove(date);
+            (succeeded ? completed : failed).incrementAndGet();
+            save(BackfillStatus.RUNNING);
+        }
+
+        private synchronized void complete() {
+            save(failed.get() == 0 ? BackfillStatus.COMPLETED : BackfillStatus.COMPLETED_WITH_FAILURES);
+        }
+
+        // 아직 끝나지 않은 가장 이른 날짜의 전날까지를 체크포인트로 둔다.
+        private void save(BackfillStatus status) {
+            job.setStatus(status);
+            job.setCompletedCount(completed.get());
+            job.setFailedCount(failed.get());
+            job.setCheckpointDate(pendingDates.isEmpty() ? job.getEndDate() : pendingDates.first().minusDays(1));
+            job.setUpdatedAt(LocalDateTime.now());
+            backfillJobRepository.updateProgress(job.getId(), status, job.getTotalCount(),
+                    job.getCompletedCount(), job.getFailedCount(), job.getCheckpointDate(), job.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package zerobase.weather.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.DateWeatherId;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+public class WeatherFetchCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherFetchCoalescer.class);
+
+    private final ConcurrentMap<DateWeatherId, CompletableFuture<DateWeather>> inFlight = new ConcurrentHashMap<>();
+
+    private final DiaryStatsService diaryStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    public WeatherFetchCoalescer(DiaryStatsService diaryStatsService,
+                                 PlatformTransactionManager transactionManager) {
+        this.diaryStatsService = diaryStatsService;
+        // 호출한 트랜잭션과 무관하게 한 번만 저장되도록 별도 트랜잭션에서 커밋
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public DateWeather fetch(LocalDate date, String city, Supplier<DateWeather> loader) {
+        DateWeatherId key = new DateWeatherId(date, city);
+        CompletableFuture<DateWeather> created = new CompletableFuture<>();
+        CompletableFuture<DateWeather> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            logger.debug("Joining in-flight weather fetch for date: {}, city: {}", date, city);
+            return await(existing);
+        }
+
+        try {
+            DateWeather dateWeather = loader.get();
+            // API 는 현재 날씨만 주므로, 요청한 날짜가 오늘일 때만 그 날짜의 날씨로 저장한다.
+            // 다른 날짜는 저장하지 않고 돌려주기만 해, 지어낸 날씨가 이력이나 통계에 남지 않게 한다.
+            if (isFetchedFor(dateWeather, key)) {
+                transactionTemplate.executeWithoutResult(status -> diaryStatsService.saveDateWeather(dateWeather));
+            }
+            created.complete(dateWeather);
+            return dateWeather;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 가져온 날씨가 요청한 (날짜, 도시)의 날씨인지, 즉 저장해도 되는지 확인한다.
+     */
+    public static boolean isFetchedFor(DateWeather dateWeather, DateWeatherId key) {
+        return key.getDate().equals(dateWeather.getDate()) && key.getCity().equals(dateWeather.getCity());
+    }
+
+    private static DateWeather await(CompletableFuture<DateWeather> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package zerobase.weather.type;
+
+public enum BackfillStatus {
+    RUNNING,
+    COMPLETED,
+    COMPLETED_WITH_FAILURES
+}
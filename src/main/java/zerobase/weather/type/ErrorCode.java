@@ -10,7 +10,15 @@ public enum ErrorCode {
     START_DATE_MUST_BE_EARLIER_OR_EQUAL_TO_END_DATE("입력한 끝 날짜가 시작 날짜보다 빠릅니다."),
     TOO_FAR_IN_THE_PAST_OR_FUTURE("너무 과거 혹은 미래의 날짜입니다."),
     FAIL_TO_FETCH_WEATHER_DATA_FROM_API("API에서 날씨 데이터를 가져오는데 실패했습니다."),
+    WEATHER_API_UNAVAILABLE("날씨 API 장애로 잠시 호출을 중단했습니다."),
+    WEATHER_API_REJECTED_REQUEST("날씨 API 가 요청을 거절했습니다."),
+    FAIL_TO_PARSE_WEATHER_DATA("날씨 데이터를 해석하는데 실패했습니다."),
     INVALID_DATE("잘못된 날짜 형식입니다."),
+    DIARY_NOT_FOUND("해당 날짜의 일기가 없습니다."),
+    BACKFILL_JOB_NOT_FOUND("해당 백필 작업이 없습니다."),
+    BACKFILL_ALREADY_RUNNING("해당 도시의 백필 작업이 이미 진행 중입니다."),
+    INGEST_QUEUE_FULL("저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."),
+    INGEST_NOT_FOUND("해당 키의 저장 요청이 없습니다."),
     INVALID_REQUEST("잘못된 요청입니다.");
     private final String description;
 }
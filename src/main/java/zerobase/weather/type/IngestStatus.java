@@ -0,0 +1,7 @@
+package zerobase.weather.type;
+
+public enum IngestStatus {
+    QUEUED,
+    PERSISTED,
+    FAILED
+}
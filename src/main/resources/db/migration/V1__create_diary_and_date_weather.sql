@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS date_weather
+(
+    date        DATE         NOT NULL,
+    weather     VARCHAR(255),
+    icon        VARCHAR(255),
+    temperature DOUBLE       NOT NULL,
+    PRIMARY KEY (date)
+);
+
+CREATE TABLE IF NOT EXISTS diary
+(
+    id          INT          NOT NULL AUTO_INCREMENT,
+    weather     VARCHAR(255),
+    icon        VARCHAR(255),
+    temperature DOUBLE       NOT NULL,
+    text        VARCHAR(255),
+    date        DATE,
+    PRIMARY KEY (id)
+);
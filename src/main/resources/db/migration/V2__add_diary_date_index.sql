@@ -0,0 +1,3 @@
+-- 모든 일기 조회/수정/삭제가 date 로 필터링하고 (date, id) 순서로 정렬한다.
+-- 이 인덱스가 date 단일 조건도 처리하므로 date 만의 인덱스는 따로 두지 않는다.
+CREATE INDEX idx_diary_date_id ON diary (date, id);
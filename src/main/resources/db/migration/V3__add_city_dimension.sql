@@ -0,0 +1,6 @@
+-- 날씨 캐시와 일기에 도시 차원을 추가한다. 기존 데이터는 모두 서울 기준이다.
+ALTER TABLE date_weather ADD COLUMN city VARCHAR(100) NOT NULL DEFAULT 'seoul';
+ALTER TABLE date_weather DROP PRIMARY KEY;
+ALTER TABLE date_weather ADD PRIMARY KEY (date, city);
+
+ALTER TABLE diary ADD COLUMN city VARCHAR(100) NOT NULL DEFAULT 'seoul';
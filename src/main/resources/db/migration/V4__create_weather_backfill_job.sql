@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS weather_backfill_job
+(
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    city            VARCHAR(100) NOT NULL,
+    start_date      DATE         NOT NULL,
+    end_date        DATE         NOT NULL,
+    status          VARCHAR(30)  NOT NULL,
+    total_count     INT          NOT NULL,
+    completed_count INT          NOT NULL,
+    failed_count    INT          NOT NULL,
+    checkpoint_date DATE,
+    created_at      DATETIME     NOT NULL,
+    updated_at      DATETIME     NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_weather_backfill_job_status ON weather_backfill_job (status);
@@ -0,0 +1,8 @@
+-- 비동기 일기 저장 요청의 처리 결과. 같은 Idempotency-Key 로 다시 들어온 요청을 걸러낸다.
+CREATE TABLE IF NOT EXISTS diary_ingest
+(
+    ingest_key VARCHAR(64) NOT NULL,
+    status     VARCHAR(20) NOT NULL,
+    created_at DATETIME    NOT NULL,
+    PRIMARY KEY (ingest_key)
+);
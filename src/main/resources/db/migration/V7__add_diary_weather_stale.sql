@@ -0,0 +1,2 @@
+-- 날씨 API 장애로 해당 도시의 가장 최근 날씨를 대신 쓴 일기를 표시한다.
+ALTER TABLE diary ADD COLUMN weather_stale BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,8 @@
+-- 날짜별 일기 버전. 일기를 저장/수정/삭제하는 트랜잭션에서 함께 올려,
+-- 여러 인스턴스가 같은 버전으로 조회 캐시를 검증하고 같은 ETag 를 내려 주게 한다.
+CREATE TABLE IF NOT EXISTS diary_version
+(
+    date    DATE   NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (date)
+);
@@ -0,0 +1,48 @@
+-- mysql/V6 과 같은 테이블을 만든다. 초기값을 채우는 월 계산만 H2 가 해석하는 함수로 바꿨다.
+-- 일기 통계 롤업. 일기 저장/삭제 시 같은 트랜잭션에서 증분으로 갱신한다.
+-- 날씨가 없는 일기는 weather = '' 로 집계한다.
+CREATE TABLE IF NOT EXISTS diary_daily_stat
+(
+    stat_date       DATE         NOT NULL,
+    weather         VARCHAR(255) NOT NULL,
+    diary_count     BIGINT       NOT NULL,
+    temperature_sum DOUBLE       NOT NULL,
+    PRIMARY KEY (stat_date, weather)
+);
+
+CREATE TABLE IF NOT EXISTS diary_monthly_stat
+(
+    month_start     DATE         NOT NULL,
+    weather         VARCHAR(255) NOT NULL,
+    diary_count     BIGINT       NOT NULL,
+    temperature_sum DOUBLE       NOT NULL,
+    PRIMARY KEY (month_start, weather)
+);
+
+-- 날씨 관측 롤업. date_weather 에 새 행이 들어갈 때만 갱신한다.
+CREATE TABLE IF NOT EXISTS weather_monthly_stat
+(
+    month_start     DATE         NOT NULL,
+    city            VARCHAR(100) NOT NULL,
+    weather         VARCHAR(255) NOT NULL,
+    day_count       BIGINT       NOT NULL,
+    temperature_sum DOUBLE       NOT NULL,
+    PRIMARY KEY (month_start, city, weather)
+);
+
+-- 기존 데이터로 초기값을 채운다.
+INSERT INTO diary_daily_stat (stat_date, weather, diary_count, temperature_sum)
+SELECT date, COALESCE(weather, ''), COUNT(*), SUM(temperature)
+FROM diary
+WHERE date IS NOT NULL
+GROUP BY date, COALESCE(weather, '');
+
+INSERT INTO diary_monthly_stat (month_start, weather, diary_count, temperature_sum)
+SELECT DATEADD(DAY, 1 - EXTRACT(DAY FROM stat_date), stat_date), weather, SUM(diary_count), SUM(temperature_sum)
+FROM diary_daily_stat
+GROUP BY DATEADD(DAY, 1 - EXTRACT(DAY FROM stat_date), stat_date), weather;
+
+INSERT INTO weather_monthly_stat (month_start, city, weather, day_count, temperature_sum)
+SELECT DATEADD(DAY, 1 - EXTRACT(DAY FROM date), date), city, COALESCE(weather, ''), COUNT(*), SUM(temperature)
+FROM date_weather
+GROUP BY DATEADD(DAY, 1 - EXTRACT(DAY FROM date), date), city, COALESCE(weather, '');
@@ -0,0 +1,155 @@
+package zerobase.weather.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zerobase.weather.exception.DiaryException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zerobase.weather.type.ErrorCode.FAIL_TO_FETCH_WEATHER_DATA_FROM_API;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_REJECTED_REQUEST;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_UNAVAILABLE;
+
+class WeatherClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicLong delayMillis = new AtomicLong();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/weather", exchange -> {
+            requestCount.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"main\":{\"temp\":280.1}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchWeather() {
+        // given
+        WeatherClient weatherClient = client(Duration.ofSeconds(2));
+
+        // when
+        String weatherData = weatherClient.fetchWeather("seoul");
+
+        // then
+        assertEquals("{\"main\":{\"temp\":280.1}}", weatherData);
+    }
+
+    @Test
+    void fetchWeatherFailsOnErrorStatus() {
+        // given
+        status.set(500);
+        WeatherClient weatherClient = client(Duration.ofSeconds(2));
+
+        // when
+        DiaryException exception = assertThrows(DiaryException.class, () -> weatherClient.fetchWeather("seoul"));
+
+        // then
+        assertEquals(FAIL_TO_FETCH_WEATHER_DATA_FROM_API, exception.getErrorCode());
+    }
+
+    @Test
+    void fetchWeatherTimesOut() {
+        // given
+        delayMillis.set(2_000);
+        WeatherClient weatherClient = client(Duration.ofMillis(200));
+
+        // when
+        long start = System.nanoTime();
+        DiaryException exception = assertThrows(DiaryException.class, () -> weatherClient.fetchWeather("seoul"));
+
+        // then
+        assertEquals(FAIL_TO_FETCH_WEATHER_DATA_FROM_API, exception.getErrorCode());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_500);
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveServerErrors() {
+        // given
+        status.set(503);
+        WeatherClient weatherClient = client(Duration.ofSeconds(2), new WeatherCircuitBreaker(2, Duration.ofMinutes(1)));
+        assertThrows(DiaryException.class, () -> weatherClient.fetchWeather("seoul"));
+        assertThrows(DiaryException.class, () -> weatherClient.fetchWeather("seoul"));
+
+        // when
+        DiaryException exception = assertThrows(DiaryException.class, () -> weatherClient.fetchWeather("seoul"));
+
+        // then
+        assertEquals(WEATHER_API_UNAVAILABLE, exception.getErrorCode());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void openCircuitDoesNotUseRateLimitPermits() {
+        // given
+        // 초당 1건이면 세 번째 예약부터는 요청 타임아웃(2초)을 넘겨 rate limit 오류가 난다.
+        WeatherCircuitBreaker circuitBreaker = new WeatherCircuitBreaker(1, Duration.ofMinutes(1));
+        WeatherClient weatherClient = client(Duration.ofSeconds(2), circuitBreaker, 1);
+        circuitBreaker.onFailure();
+
+        // when & then
+        for (int i = 0; i < 5; i++) {
+            DiaryException exception = assertThrows(DiaryException.class, () -> weatherClient.fetchWeather("seoul"));
+            assertEquals(WEATHER_API_UNAVAILABLE, exception.getErrorCode());
+        }
+        assertEquals(0, requestCount.get());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        // given
+        status.set(404);
+        WeatherClient weatherClient = client(Duration.ofSeconds(2), new WeatherCircuitBreaker(1, Duration.ofMinutes(1)));
+        DiaryException rejected = assertThrows(DiaryException.class, () -> weatherClient.fetchWeather("nowhere"));
+        assertEquals(WEATHER_API_REJECTED_REQUEST, rejected.getErrorCode());
+
+        // when
+        status.set(200);
+        String weatherData = weatherClient.fetchWeather("seoul");
+
+        // then
+        assertEquals("{\"main\":{\"temp\":280.1}}", weatherData);
+        assertEquals(2, requestCount.get());
+    }
+
+    private WeatherClient client(Duration requestTimeout) {
+        return client(requestTimeout, new WeatherCircuitBreaker(100, Duration.ofMinutes(1)));
+    }
+
+    private WeatherClient client(Duration requestTimeout, WeatherCircuitBreaker circuitBreaker) {
+        return client(requestTimeout, circuitBreaker, 0);
+    }
+
+    private WeatherClient client(Duration requestTimeout, WeatherCircuitBreaker circuitBreaker, int rateLimitPerSecond) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/weather";
+        return new WeatherClient("test_api_key", url, Duration.ofSeconds(1), requestTimeout,
+                rateLimitPerSecond, circuitBreaker, false);
+    }
+}
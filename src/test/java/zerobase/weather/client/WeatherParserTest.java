@@ -0,0 +1,65 @@
+package zerobase.weather.client;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weather.exception.DiaryException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zerobase.weather.type.ErrorCode.FAIL_TO_PARSE_WEATHER_DATA;
+
+class WeatherParserTest {
+
+    private final WeatherParser weatherParser = new WeatherParser();
+
+    @Test
+    void parse() {
+        // given
+        String json = "{\"coord\":{\"lon\":126.9778,\"lat\":37.5683},"
+                + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"description\":\"clear sky\",\"icon\":\"01d\"},"
+                + "{\"id\":701,\"main\":\"Mist\",\"icon\":\"50d\"}],"
+                + "\"base\":\"stations\","
+                + "\"main\":{\"temp\":280.5,\"feels_like\":277.9,\"pressure\":1021,\"humidity\":45},"
+                + "\"name\":\"Seoul\",\"cod\":200}";
+
+        // when
+        WeatherData weatherData = weatherParser.parse(json);
+
+        // then
+        assertEquals(280.5, weatherData.getTemperature());
+        assertEquals("Clear", weatherData.getWeather());
+        assertEquals("01d", weatherData.getIcon());
+    }
+
+    @Test
+    void parseIntegralTemperature() {
+        // given
+        String json = "{\"main\":{\"temp\":281},\"weather\":[{\"main\":\"Rain\",\"icon\":\"10n\"}]}";
+
+        // when
+        WeatherData weatherData = weatherParser.parse(json);
+
+        // then
+        assertEquals(281.0, weatherData.getTemperature());
+        assertEquals("Rain", weatherData.getWeather());
+    }
+
+    @Test
+    void parseFailsOnMissingFields() {
+        // given
+        String json = "{\"cod\":401,\"message\":\"Invalid API key.\"}";
+
+        // when
+        DiaryException exception = assertThrows(DiaryException.class, () -> weatherParser.parse(json));
+
+        // then
+        assertEquals(FAIL_TO_PARSE_WEATHER_DATA, exception.getErrorCode());
+    }
+
+    @Test
+    void parseFailsOnMalformedJson() {
+        // when
+        DiaryException exception = assertThrows(DiaryException.class, () -> weatherParser.parse("{\"main\":"));
+
+        // then
+        assertEquals(FAIL_TO_PARSE_WEATHER_DATA, exception.getErrorCode());
+    }
+}
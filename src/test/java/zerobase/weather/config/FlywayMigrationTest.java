@@ -0,0 +1,43 @@
+package zerobase.weather.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FlywayMigrationTest {
+
+    @Test
+    void migrationsApplyToH2InMySqlMode() {
+        // given
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        // flyway.properties 의 spring.flyway.locations 에서 {vendor} 가 h2 로 바뀐 것과 같다.
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/migration/h2")
+                .load();
+
+        // when
+        MigrateResult result = flyway.migrate();
+
+        // then
+        assertEquals(8, result.migrationsExecuted);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO date_weather (date, city, weather, icon, temperature) "
+                + "VALUES ('2024-03-01', 'busan', 'Clear', '01d', 280.5)");
+        jdbcTemplate.update("INSERT INTO diary (weather, icon, temperature, text, date) "
+                + "VALUES ('Clear', '01d', 280.5, 'text', '2024-03-01')");
+        assertEquals("seoul", jdbcTemplate.queryForObject("SELECT city FROM diary", String.class));
+        assertFalse(jdbcTemplate.queryForObject("SELECT weather_stale FROM diary", Boolean.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM weather_monthly_stat", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM diary_version", Integer.class));
+    }
+}
@@ -0,0 +1,208 @@
+package zerobase.weather.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weather.repository.DiaryRepository;
+import zerobase.weather.service.DiaryReadCache;
+import zerobase.weather.service.DiaryService;
+import zerobase.weather.service.DiaryVersionTracker;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    @Test
+    void readOnlyTransactionsAreBalancedAcrossReplicas() {
+        // given
+        Routing routing = routing(Duration.ZERO, "primary", "replica-a", "replica-b");
+
+        // when
+        List<String> readFrom = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readFrom.add(routing.read(true));
+        }
+
+        // then
+        assertEquals(List.of("replica-a", "replica-b", "replica-a", "replica-b"), readFrom);
+    }
+
+    @Test
+    void writableTransactionsAndNonTransactionalCallsUsePrimary() {
+        // given
+        Routing routing = routing(Duration.ZERO, "primary", "replica-a");
+
+        // then
+        assertEquals("primary", routing.read(false));
+        assertEquals("primary", routing.jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void readsGoToPrimaryRightAfterWrite() {
+        // given
+        Routing routing = routing(Duration.ofMinutes(1), "primary", "replica-a");
+        assertEquals("replica-a", routing.read(true));
+
+        // when
+        routing.writeDiary(LocalDate.of(2024, 3, 1));
+
+        // then
+        assertEquals("primary", routing.read(true));
+    }
+
+    @Test
+    void writesOtherThanDiariesDoNotPinReadsToPrimary() {
+        // given
+        Routing routing = routing(Duration.ofMinutes(1), "primary", "replica-a");
+
+        // when
+        routing.write();
+
+        // then
+        assertEquals("replica-a", routing.read(true));
+    }
+
+    @Test
+    void readsReturnToReplicaAfterMaxLag() throws InterruptedException {
+        // given
+        Routing routing = routing(Duration.ofMillis(50), "primary", "replica-a");
+        routing.writeDiary(LocalDate.of(2024, 3, 1));
+
+        // when
+        Thread.sleep(100);
+
+        // then
+        assertEquals("replica-a", routing.read(true));
+    }
+
+    @Test
+    void onlyReadsOfRecentlyWrittenDatesGoToPrimary() {
+        // given
+        Routing routing = routing(Duration.ofMinutes(1), "primary", "replica-a");
+        LocalDate written = LocalDate.of(2024, 3, 1);
+
+        // when
+        routing.writeDiary(written);
+
+        // then
+        assertEquals("primary", routing.readDates(written, written));
+        assertEquals("primary", routing.readDates(written.minusDays(7), written));
+        assertEquals("replica-a", routing.readDates(written.plusDays(1), written.plusDays(7)));
+        assertEquals("primary", routing.read(true));
+    }
+
+    @Test
+    void writtenDateReturnsToReplicaAfterMaxLag() throws InterruptedException {
+        // given
+        Routing routing = routing(Duration.ofMillis(50), "primary", "replica-a");
+        LocalDate written = LocalDate.of(2024, 3, 1);
+        routing.writeDiary(written);
+
+        // when
+        Thread.sleep(100);
+
+        // then
+        assertEquals("replica-a", routing.readDates(written, written));
+    }
+
+    @Test
+    void readDiaryThroughDiaryServiceIsRoutedToReplicaUntilThatDateIsWritten() {
+        // given
+        Routing routing = routing(Duration.ofMinutes(1), "primary", "replica-a");
+        LocalDate date = LocalDate.now();
+        List<String> readFrom = new ArrayList<>();
+        DiaryRepository diaryRepository = mock(DiaryRepository.class);
+        // 리포지토리 쿼리는 자체 트랜잭션 없이 DiaryService 가 연 트랜잭션에서 커넥션을 얻는다.
+        when(diaryRepository.findDtosByDate(date)).thenAnswer(invocation -> {
+            readFrom.add(routing.jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+            return List.of();
+        });
+        DiaryService diaryService = transactional(new DiaryService(null, diaryRepository, null, null, null,
+                mock(DiaryReadCache.class), mock(DiaryVersionTracker.class), null, null, null,
+                new SimpleMeterRegistry(), null, routing.transactionManager, new SyncTaskExecutor(),
+                500, "seoul", List.of("seoul"), 1), routing);
+
+        // when
+        diaryService.readDiary(date);
+        routing.writeDiary(date);
+        diaryService.readDiary(date);
+
+        // then
+        assertEquals(List.of("replica-a", "primary"), readFrom);
+    }
+
+    // 스프링 컨테이너처럼 @Transactional 을 해석하는 프록시로 감싼다.
+    private static DiaryService transactional(DiaryService target, Routing routing) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(
+                routing.transactionManager, new AnnotationTransactionAttributeSource()));
+        return (DiaryService) proxyFactory.getProxy();
+    }
+
+    private static Routing routing(Duration maxLag, String primaryName, String... replicaNames) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String replicaName : replicaNames) {
+            replicas.add(database(replicaName));
+        }
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(database(primaryName), replicas, maxLag);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        return new Routing(routingDataSource, new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    // 어느 DB 에서 읽었는지 알 수 있도록 DB 마다 자기 이름을 넣어 둔다.
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private record Routing(ReplicaRoutingDataSource routingDataSource, JdbcTemplate jdbcTemplate,
+                           DataSourceTransactionManager transactionManager) {
+        String read(boolean readOnly) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        }
+
+        String readDates(LocalDate startDate, LocalDate endDate) {
+            try (ReplicaReadScope ignored = ReplicaReadScope.of(startDate, endDate)) {
+                return read(true);
+            }
+        }
+
+        void write() {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.update("UPDATE node SET name = name"));
+        }
+
+        // DiaryChangedEvent 를 받은 ReplicaDataSourceConfig 와 같이, 쓰기 트랜잭션 안에서 날짜를 기록한다.
+        void writeDiary(LocalDate date) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE node SET name = name");
+                routingDataSource.recordWrite(Set.of(date));
+            });
+        }
+    }
+}
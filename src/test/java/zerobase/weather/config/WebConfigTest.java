@@ -0,0 +1,45 @@
+package zerobase.weather.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebConfigTest {
+
+    @Test
+    void replacesDefaultCborConverterInPlace() {
+        // given
+        MappingJackson2CborHttpMessageConverter defaultCborConverter = new MappingJackson2CborHttpMessageConverter();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+                new StringHttpMessageConverter(), defaultCborConverter, new MappingJackson2HttpMessageConverter()));
+
+        // when
+        new WebConfig(new Jackson2ObjectMapperBuilder()).extendMessageConverters(converters);
+
+        // then
+        assertEquals(3, converters.size());
+        assertInstanceOf(MappingJackson2CborHttpMessageConverter.class, converters.get(1));
+        assertNotSame(defaultCborConverter, converters.get(1));
+    }
+
+    @Test
+    void addsCborConverterWhenMissing() {
+        // given
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new MappingJackson2HttpMessageConverter()));
+
+        // when
+        new WebConfig(new Jackson2ObjectMapperBuilder()).extendMessageConverters(converters);
+
+        // then
+        assertEquals(2, converters.size());
+        assertInstanceOf(MappingJackson2CborHttpMessageConverter.class, converters.get(1));
+    }
+}
@@ -1,43 +1,65 @@
 package zerobase.weather.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-import zerobase.weather.domain.Diary;
+import org.springframework.test.web.servlet.MvcResult;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.dto.DiaryPage;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.DiaryVersionJdbcRepository;
 import zerobase.weather.service.DiaryService;
+import zerobase.weather.service.DiaryVersionTracker;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_UNAVAILABLE;
 
 @WebMvcTest(DiaryController.class)
+@Import(DiaryVersionTracker.class)
 class DiaryControllerTest {
 
     @MockBean
     private DiaryService diaryService;
 
+    @MockBean
+    private DiaryVersionJdbcRepository diaryVersionJdbcRepository;
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
-    private Diary diary;
+    private DiaryDto diary;
 
     @BeforeEach
     void setDiary() {
-        diary = Diary.builder()
+        diary = DiaryDto.builder()
                 .id(123)
                 .date(LocalDate.of(2024, 3, 1))
                 .text("Test diary")
@@ -54,6 +76,55 @@ class DiaryControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void createDiaries() throws Exception {
+        // given
+        given(diaryService.createDiaries(anyList())).willReturn(2);
+
+        // when & then
+        mockMvc.perform(post("/create/diaries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"date\":\"2024-03-01\",\"text\":\"first\"},"
+                                + "{\"date\":\"2024-03-02\",\"text\":\"second\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdCount").value(2));
+    }
+
+    @Test
+    void createDiariesFromNdjson() throws Exception {
+        // given
+        given(diaryService.createDiaries(anyList())).willReturn(2);
+
+        // when & then
+        mockMvc.perform(post("/create/diaries")
+                        .contentType("application/x-ndjson")
+                        .content("{\"date\":\"2024-03-01\",\"text\":\"첫 번째\"}\n"
+                                + "\n"
+                                + "{\"date\":\"2024-03-02\",\"text\":\"두 번째\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdCount").value(2))
+                .andExpect(jsonPath("$.committedLine").value(3));
+        verify(diaryService, times(1)).createDiaries(anyList());
+    }
+
+    @Test
+    void createDiariesFromNdjsonReportsCommittedLineOnFailure() throws Exception {
+        // given
+        given(diaryService.createDiaries(anyList()))
+                .willReturn(1000)
+                .willThrow(new DiaryException(WEATHER_API_UNAVAILABLE));
+        String body = "{\"date\":\"2024-03-01\",\"text\":\"text\"}\n".repeat(1001);
+
+        // when & then
+        mockMvc.perform(post("/create/diaries")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.createdCount").value(1000))
+                .andExpect(jsonPath("$.committedLine").value(1000))
+                .andExpect(jsonPath("$.errorCode").value("WEATHER_API_UNAVAILABLE"));
+    }
+
     @Test
     void readDiary() throws Exception {
         // given
@@ -69,10 +140,60 @@ class DiaryControllerTest {
                         .value("Test diary"));
     }
 
+    @Test
+    void readDiaryNotModified() throws Exception {
+        // given
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        given(diaryService.readDiary(date)).willReturn(Collections.singletonList(diary));
+        String etag = mockMvc.perform(get("/read/diary").param("date", "2024-03-01"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then
+        mockMvc.perform(get("/read/diary")
+                        .param("date", "2024-03-01")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(diaryService, times(1)).readDiary(date);
+
+        given(diaryVersionJdbcRepository.findVersion(date)).willReturn(1L);
+        mockMvc.perform(get("/read/diary")
+                        .param("date", "2024-03-01")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(diaryService, times(2)).readDiary(date);
+    }
+
+    @Test
+    void readDiariesNotModifiedUntilDateInRangeChanges() throws Exception {
+        // given
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 3, 31);
+        given(diaryService.readDiaries(startDate, endDate)).willReturn(Collections.singletonList(diary));
+        String etag = mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        given(diaryVersionJdbcRepository.sumVersions(startDate, endDate)).willReturn(1L);
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void readDiaries() throws Exception {
         // Given
-        List<Diary> diaries = Collections.singletonList(diary);
+        List<DiaryDto> diaries = Collections.singletonList(diary);
 
         given(diaryService.readDiaries(
                 LocalDate.of(2024, 3, 1),
@@ -89,6 +210,143 @@ class DiaryControllerTest {
                 .andExpect(jsonPath("$[0].text").value("Test diary"));
     }
 
+    @Test
+    void readDiaryColumnsSharesWeatherOfSameDay() throws Exception {
+        // given
+        given(diaryService.readDiaries(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .willReturn(List.of(
+                        diary(1, LocalDate.of(2024, 3, 1), "first"),
+                        diary(2, LocalDate.of(2024, 3, 1), "second"),
+                        diary(3, LocalDate.of(2024, 3, 2), "third")));
+
+        // when & then
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .accept("application/vnd.weather.diary-columns+json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.weathers.length()").value(2))
+                .andExpect(jsonPath("$.weathers[1].date").value("2024-03-02"))
+                .andExpect(jsonPath("$.ids[2]").value(3))
+                .andExpect(jsonPath("$.weatherIndexes[0]").value(0))
+                .andExpect(jsonPath("$.weatherIndexes[1]").value(0))
+                .andExpect(jsonPath("$.weatherIndexes[2]").value(1))
+                .andExpect(jsonPath("$.texts[1]").value("second"));
+    }
+
+    @Test
+    void readDiaryColumnsAsCbor() throws Exception {
+        // given
+        given(diaryService.readDiaries(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .willReturn(List.of(diary(1, LocalDate.of(2024, 3, 1), "first")));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, result.getResponse().getContentType());
+        JsonNode columns = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("2024-03-01", columns.get("weathers").get(0).get("date").asText());
+        assertEquals("Clear", columns.get("weathers").get(0).get("weather").asText());
+        assertEquals("first", columns.get("texts").get(0).asText());
+    }
+
+    @Test
+    void readDiariesUsesSeparateETagPerFormat() throws Exception {
+        // given
+        given(diaryService.readDiaries(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .willReturn(Collections.singletonList(diary));
+        String jsonETag = mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", jsonETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void readDiaryColumnsUsesSeparateETagForJsonAndCbor() throws Exception {
+        // given
+        given(diaryService.readDiaries(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .willReturn(Collections.singletonList(diary));
+        String columnsETag = mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .accept("application/vnd.weather.diary-columns+json"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", columnsETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .accept("application/vnd.weather.diary-columns+json")
+                        .header("If-None-Match", columnsETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void readDiaryPage() throws Exception {
+        // given
+        given(diaryService.readDiaryPage(
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), null, 0, 100))
+                .willReturn(new DiaryPage(Collections.singletonList(diary), LocalDate.of(2024, 3, 1), 123));
+
+        // when & then
+        mockMvc.perform(get("/read/diaries/page")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.diaries[0].text").value("Test diary"))
+                .andExpect(jsonPath("$.nextAfterDate").value("2024-03-01"))
+                .andExpect(jsonPath("$.nextAfterId").value(123));
+    }
+
+    @Test
+    void streamDiaries() throws Exception {
+        // given
+        willAnswer(invocation -> {
+            Consumer<DiaryDto> consumer = invocation.getArgument(2);
+            consumer.accept(diary);
+            consumer.accept(diary);
+            return null;
+        }).given(diaryService).streamDiaries(
+                eq(LocalDate.of(2024, 3, 1)), eq(LocalDate.of(2024, 3, 31)), any());
+
+        // when
+        MvcResult asyncResult = mockMvc.perform(get("/read/diaries/stream")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test diary", objectMapper.readTree(lines[0]).get("text").asText());
+    }
+
     @Test
     void updateDiary() throws Exception {
         // When & Then
@@ -106,4 +364,16 @@ class DiaryControllerTest {
                         .param("date", "2024-03-01"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private static DiaryDto diary(int id, LocalDate date, String text) {
+        return DiaryDto.builder()
+                .id(id)
+                .date(date)
+                .city("seoul")
+                .weather("Clear")
+                .icon("01d")
+                .temperature(280.0)
+                .text(text)
+                .build();
+    }
+}
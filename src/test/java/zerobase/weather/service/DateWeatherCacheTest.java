@@ -0,0 +1,83 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weather.domain.DateWeather;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateWeatherCacheTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void expiredEntryIsAMissAndCountedAsEviction() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(10, Duration.ZERO);
+        cache.put(dateWeather(DATE, "seoul"));
+
+        // when & then
+        assertTrue(cache.get(DATE, "seoul").isEmpty());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void entryWithinTtlIsAHit() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(10, Duration.ofHours(6));
+        DateWeather dateWeather = dateWeather(DATE, "seoul");
+        cache.put(dateWeather);
+
+        // when & then
+        assertSame(dateWeather, cache.get(DATE, "seoul").orElseThrow());
+        assertTrue(cache.get(DATE, "busan").isEmpty());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(2, Duration.ofHours(6));
+        cache.put(dateWeather(DATE, "seoul"));
+        cache.put(dateWeather(DATE, "busan"));
+        cache.get(DATE, "seoul");
+
+        // when
+        cache.put(dateWeather(DATE, "incheon"));
+
+        // then
+        assertTrue(cache.get(DATE, "seoul").isPresent());
+        assertTrue(cache.get(DATE, "busan").isEmpty());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void evictRemovesOnlyCachedEntry() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(10, Duration.ofHours(6));
+        cache.put(dateWeather(DATE, "seoul"));
+
+        // when
+        cache.evict(DATE, "seoul");
+        cache.evict(DATE, "busan");
+
+        // then
+        assertTrue(cache.get(DATE, "seoul").isEmpty());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    private static DateWeather dateWeather(LocalDate date, String city) {
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(date);
+        dateWeather.setCity(city);
+        dateWeather.setWeather("Clear");
+        dateWeather.setIcon("01d");
+        dateWeather.setTemperature(280.5);
+        return dateWeather;
+    }
+}
@@ -0,0 +1,98 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiaryIngestLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appendAndRead() throws Exception {
+        // given
+        DiaryIngestLog log = open(DataSize.ofKilobytes(64));
+        log.append(new DiaryIngestEntry("key-1", LocalDate.of(2024, 3, 1), "seoul", "첫 번째 일기"));
+        log.append(new DiaryIngestEntry("key-2", LocalDate.of(2024, 3, 2), null, "second"));
+
+        // when
+        DiaryIngestLog.Batch batch = log.read(10, 0, TimeUnit.MILLISECONDS);
+
+        // then
+        assertEquals(2, batch.entries().size());
+        assertEquals("key-1", batch.entries().get(0).getIdempotencyKey());
+        assertEquals("첫 번째 일기", batch.entries().get(0).getText());
+        assertNull(batch.entries().get(1).getCity());
+        assertEquals(LocalDate.of(2024, 3, 2), batch.entries().get(1).getDate());
+        log.close();
+    }
+
+    @Test
+    void uncommittedEntriesSurviveReopen() throws Exception {
+        // given
+        DiaryIngestLog log = open(DataSize.ofKilobytes(64));
+        log.append(new DiaryIngestEntry("key-1", LocalDate.of(2024, 3, 1), "seoul", "committed"));
+        log.commit(log.read(1, 0, TimeUnit.MILLISECONDS).endPosition());
+        log.append(new DiaryIngestEntry("key-2", LocalDate.of(2024, 3, 1), "seoul", "pending"));
+        log.close();
+
+        // when
+        DiaryIngestLog reopened = open(DataSize.ofKilobytes(64));
+        DiaryIngestLog.Batch batch = reopened.read(10, 0, TimeUnit.MILLISECONDS);
+
+        // then
+        assertEquals(1, batch.entries().size());
+        assertEquals("key-2", batch.entries().get(0).getIdempotencyKey());
+        reopened.close();
+    }
+
+    @Test
+    void rejectsWhenFullAndReusesSpaceAfterCommit() throws Exception {
+        // given
+        DiaryIngestLog log = open(DataSize.ofBytes(256));
+        String text = "x".repeat(100);
+        assertTrue(log.append(new DiaryIngestEntry("key-1", LocalDate.of(2024, 3, 1), "seoul", text)));
+
+        // when & then
+        assertFalse(log.append(new DiaryIngestEntry("key-2", LocalDate.of(2024, 3, 1), "seoul", text)));
+        log.commit(log.read(10, 0, TimeUnit.MILLISECONDS).endPosition());
+        assertTrue(log.append(new DiaryIngestEntry("key-2", LocalDate.of(2024, 3, 1), "seoul", text)));
+        assertEquals("key-2", log.read(10, 0, TimeUnit.MILLISECONDS).entries().get(0).getIdempotencyKey());
+        log.close();
+    }
+
+    @Test
+    void wrapsAroundToCommittedSpace() throws Exception {
+        // given
+        DiaryIngestLog log = open(DataSize.ofBytes(400));
+        assertTrue(log.append(new DiaryIngestEntry("key-1", LocalDate.of(2024, 3, 1), "seoul", "x".repeat(110))));
+        assertTrue(log.append(new DiaryIngestEntry("key-2", LocalDate.of(2024, 3, 1), "seoul", "x".repeat(100))));
+        log.commit(log.read(1, 0, TimeUnit.MILLISECONDS).endPosition());
+
+        // when
+        assertTrue(log.append(new DiaryIngestEntry("key-3", LocalDate.of(2024, 3, 1), "seoul", "x".repeat(100))));
+        log.close();
+        DiaryIngestLog reopened = open(DataSize.ofBytes(400));
+
+        // then
+        assertEquals(List.of("key-2", "key-3"), reopened.pendingKeys());
+        DiaryIngestLog.Batch batch = reopened.read(10, 0, TimeUnit.MILLISECONDS);
+        assertEquals(2, batch.entries().size());
+        reopened.commit(batch.endPosition());
+        assertTrue(reopened.pendingKeys().isEmpty());
+        reopened.close();
+    }
+
+    private DiaryIngestLog open(DataSize size) throws IOException {
+        return new DiaryIngestLog(tempDir.resolve("diary-ingest.log"), size, false);
+    }
+}
@@ -0,0 +1,238 @@
+package zerobase.weather.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+import zerobase.weather.dto.CreateDiary;
+import zerobase.weather.dto.DiaryIngest;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.DiaryIngestJdbcRepository;
+import zerobase.weather.type.IngestStatus;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static zerobase.weather.type.ErrorCode.FAIL_TO_PARSE_WEATHER_DATA;
+import static zerobase.weather.type.ErrorCode.INVALID_REQUEST;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_UNAVAILABLE;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryIngestServiceTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DiaryService diaryService;
+
+    @Mock
+    private DiaryIngestJdbcRepository diaryIngestJdbcRepository;
+
+    @Captor
+    private ArgumentCaptor<List<CreateDiary.Request>> requestsCaptor;
+
+    @Captor
+    private ArgumentCaptor<Runnable> inSameTransactionCaptor;
+
+    private DiaryIngestLog diaryIngestLog;
+
+    private DiaryIngestService diaryIngestService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        diaryIngestLog = openLog();
+        diaryIngestService = newService();
+        lenient().when(diaryService.normalizeCity(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        diaryIngestLog.close();
+    }
+
+    @Test
+    void sameKeyIsQueuedOnce() throws Exception {
+        // Given
+        when(diaryIngestJdbcRepository.findExistingKeys(any())).thenReturn(Set.of());
+
+        // When
+        diaryIngestService.accept("key-1", DATE, "seoul", "first");
+        DiaryIngest.Response response = diaryIngestService.accept("key-1", DATE, "seoul", "retry");
+        diaryIngestService.drainOnce();
+
+        // Then
+        assertEquals(IngestStatus.QUEUED, response.getStatus());
+        verify(diaryService, times(1)).createDiaries(requestsCaptor.capture(), any());
+        assertEquals(1, requestsCaptor.getValue().size());
+        assertEquals("first", requestsCaptor.getValue().get(0).getText());
+    }
+
+    @Test
+    void statusMovesFromQueuedToPersisted() throws Exception {
+        // Given
+        when(diaryIngestJdbcRepository.findExistingKeys(any())).thenReturn(Set.of());
+        diaryIngestService.accept("key-1", DATE, "seoul", "text");
+        assertEquals(IngestStatus.QUEUED, diaryIngestService.getStatus("key-1").getStatus());
+
+        // When
+        diaryIngestService.drainOnce();
+
+        // Then
+        verify(diaryService).createDiaries(anyList(), inSameTransactionCaptor.capture());
+        inSameTransactionCaptor.getValue().run();
+        verify(diaryIngestJdbcRepository).batchInsert(List.of("key-1"), IngestStatus.PERSISTED);
+
+        when(diaryIngestJdbcRepository.findStatus("key-1")).thenReturn(Optional.of(IngestStatus.PERSISTED));
+        assertEquals(IngestStatus.PERSISTED, diaryIngestService.getStatus("key-1").getStatus());
+        assertTrue(diaryIngestLog.pendingKeys().isEmpty());
+    }
+
+    @Test
+    void retryableErrorKeepsBatchInLog() {
+        // Given
+        when(diaryIngestJdbcRepository.findExistingKeys(any())).thenReturn(Set.of());
+        when(diaryService.createDiaries(anyList(), any())).thenThrow(new DiaryException(WEATHER_API_UNAVAILABLE));
+        diaryIngestService.accept("key-1", DATE, "seoul", "text");
+
+        // When
+        assertThrows(DiaryException.class, () -> diaryIngestService.drainOnce());
+
+        // Then
+        assertEquals(List.of("key-1"), diaryIngestLog.pendingKeys());
+        assertEquals(IngestStatus.QUEUED, diaryIngestService.getStatus("key-1").getStatus());
+        verify(diaryIngestJdbcRepository, never()).batchInsert(any(), eq(IngestStatus.FAILED));
+    }
+
+    @Test
+    void unparsableWeatherFailsOnlyThatEntry() throws Exception {
+        // Given
+        when(diaryIngestJdbcRepository.findExistingKeys(any())).thenReturn(Set.of());
+        when(diaryService.createDiaries(anyList(), any())).thenAnswer(invocation -> {
+            List<CreateDiary.Request> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> "busan".equals(request.getCity()))) {
+                throw new DiaryException(FAIL_TO_PARSE_WEATHER_DATA);
+            }
+            return requests.size();
+        });
+        diaryIngestService.accept("key-1", DATE, "seoul", "good");
+        diaryIngestService.accept("key-2", DATE, "busan", "bad");
+
+        // When
+        diaryIngestService.drainOnce();
+
+        // Then
+        verify(diaryService, times(3)).createDiaries(anyList(), any());
+        verify(diaryIngestJdbcRepository).batchInsert(List.of("key-2"), IngestStatus.FAILED);
+        assertTrue(diaryIngestLog.pendingKeys().isEmpty());
+    }
+
+    @Test
+    void constraintViolationFailsOnlyThatEntry() throws Exception {
+        // Given
+        when(diaryIngestJdbcRepository.findExistingKeys(any())).thenReturn(Set.of());
+        when(diaryService.createDiaries(anyList(), any())).thenAnswer(invocation -> {
+            List<CreateDiary.Request> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> "busan".equals(request.getCity()))) {
+                throw new DataIntegrityViolationException("constraint violated");
+            }
+            return requests.size();
+        });
+        diaryIngestService.accept("key-1", DATE, "seoul", "good");
+        diaryIngestService.accept("key-2", DATE, "busan", "bad");
+
+        // When
+        diaryIngestService.drainOnce();
+
+        // Then
+        verify(diaryIngestJdbcRepository).batchInsert(List.of("key-2"), IngestStatus.FAILED);
+        assertTrue(diaryIngestLog.pendingKeys().isEmpty());
+    }
+
+    @Test
+    void batchIsFailedAfterMaxAttempts() throws Exception {
+        // Given
+        diaryIngestService = newService(2);
+        when(diaryIngestJdbcRepository.findExistingKeys(any())).thenReturn(Set.of());
+        when(diaryService.createDiaries(anyList(), any())).thenThrow(new DiaryException(WEATHER_API_UNAVAILABLE));
+        diaryIngestService.accept("key-1", DATE, "seoul", "text");
+        assertThrows(DiaryException.class, () -> diaryIngestService.drainOnce());
+
+        // When
+        diaryIngestService.drainOnce();
+
+        // Then
+        verify(diaryIngestJdbcRepository).batchInsert(List.of("key-1"), IngestStatus.FAILED);
+        assertTrue(diaryIngestLog.pendingKeys().isEmpty());
+    }
+
+    @Test
+    void acceptRejectsTextLongerThanColumn() {
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> diaryIngestService.accept("key-1", DATE, "seoul", "a".repeat(256)));
+
+        // Then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+        assertTrue(diaryIngestLog.pendingKeys().isEmpty());
+    }
+
+    @Test
+    void acceptRejectsUnknownCity() {
+        // Given
+        when(diaryService.normalizeCity("atlantis")).thenThrow(new DiaryException(INVALID_REQUEST));
+
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> diaryIngestService.accept("key-1", DATE, "atlantis", "text"));
+
+        // Then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+        assertTrue(diaryIngestLog.pendingKeys().isEmpty());
+    }
+
+    @Test
+    void entriesRecoveredFromLogAreQueued() throws Exception {
+        // Given
+        diaryIngestService.accept("key-1", DATE, "seoul", "text");
+        diaryIngestLog.close();
+        diaryIngestLog = openLog();
+
+        // When
+        DiaryIngestService restarted = newService();
+
+        // Then
+        assertEquals(IngestStatus.QUEUED, restarted.getStatus("key-1").getStatus());
+        verify(diaryIngestJdbcRepository, never()).findStatus(any());
+    }
+
+    private DiaryIngestLog openLog() throws IOException {
+        return new DiaryIngestLog(tempDir.resolve("diary-ingest.log"), DataSize.ofKilobytes(64), false);
+    }
+
+    private DiaryIngestService newService() {
+        return newService(10);
+    }
+
+    private DiaryIngestService newService(int maxAttempts) {
+        return new DiaryIngestService(diaryIngestLog, diaryService, diaryIngestJdbcRepository,
+                new SimpleMeterRegistry(), 500, Duration.ZERO, maxAttempts);
+    }
+}
@@ -0,0 +1,59 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weather.dto.DiaryDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiaryReadCacheTest {
+
+    @Test
+    void staleVersionIsAMiss() {
+        // given
+        DiaryReadCache cache = new DiaryReadCache(10);
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        cache.put(date, 1L, List.of(new DiaryDto()));
+
+        // when & then
+        assertTrue(cache.get(date, 1L).isPresent());
+        assertTrue(cache.get(date, 2L).isEmpty());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    void changeEventEvictsDate() {
+        // given
+        DiaryReadCache cache = new DiaryReadCache(10);
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        cache.put(date, 1L, List.of(new DiaryDto()));
+
+        // when
+        cache.onDiaryChanged(DiaryChangedEvent.of(date));
+
+        // then
+        assertTrue(cache.get(date, 1L).isEmpty());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void leastRecentlyReadDateIsEvicted() {
+        // given
+        DiaryReadCache cache = new DiaryReadCache(2);
+        LocalDate first = LocalDate.of(2024, 3, 1);
+        LocalDate second = LocalDate.of(2024, 3, 2);
+        cache.put(first, 0L, List.of());
+        cache.put(second, 0L, List.of());
+        cache.get(first, 0L);
+
+        // when
+        cache.put(LocalDate.of(2024, 3, 3), 0L, List.of());
+
+        // then
+        assertTrue(cache.get(first, 0L).isPresent());
+        assertTrue(cache.get(second, 0L).isEmpty());
+        assertEquals(2, cache.size());
+    }
+}
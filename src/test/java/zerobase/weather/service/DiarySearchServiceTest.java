@@ -0,0 +1,165 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.dto.DiarySearchResult;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.DiaryRepository;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static zerobase.weather.type.ErrorCode.INVALID_REQUEST;
+
+@ExtendWith(MockitoExtension.class)
+class DiarySearchServiceTest {
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARCH_2 = LocalDate.of(2024, 3, 2);
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DiaryRepository diaryRepository;
+
+    @Mock
+    private DiaryService diaryService;
+
+    private DiarySearchService diarySearchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        diarySearchService = new DiarySearchService(diaryRepository, diaryService, tempDir, 1);
+        when(diaryRepository.findDtosByDate(MARCH_1)).thenReturn(List.of(
+                diary(1, MARCH_1, "Clear", "오늘은 날씨가 맑아서 공원에서 산책을 했다"),
+                diary(2, MARCH_1, "Clouds", "흐린 날에는 집에서 책을 읽었다")));
+        when(diaryRepository.findDtosByDate(MARCH_2)).thenReturn(List.of(
+                diary(3, MARCH_2, "Rain", "비가 와서 산책하지 못했다")));
+        diarySearchService.onDiaryChanged(new DiaryChangedEvent(Set.of(MARCH_1, MARCH_2)));
+        diarySearchService.awaitIndexing();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        diarySearchService.close();
+    }
+
+    @Test
+    void searchKoreanText() {
+        // when
+        DiarySearchResult result = diarySearchService.search("산책", null, null, null, 0, 20);
+
+        // then
+        assertEquals(2, result.getTotalCount());
+        assertEquals(Set.of(1, 3), Set.copyOf(result.getDiaries().stream().map(DiaryDto::getId).toList()));
+    }
+
+    @Test
+    void searchWithDateAndWeatherFilters() {
+        // when
+        DiarySearchResult byDate = diarySearchService.search("산책", MARCH_2, MARCH_2, null, 0, 20);
+        DiarySearchResult byWeather = diarySearchService.search("산책", null, null, "Clear", 0, 20);
+
+        // then
+        assertEquals(List.of(3), byDate.getDiaries().stream().map(DiaryDto::getId).toList());
+        assertEquals(List.of(1), byWeather.getDiaries().stream().map(DiaryDto::getId).toList());
+        assertEquals("Clear", byWeather.getDiaries().get(0).getWeather());
+        assertEquals(MARCH_1, byWeather.getDiaries().get(0).getDate());
+    }
+
+    @Test
+    void pagesResults() {
+        // when
+        DiarySearchResult second = diarySearchService.search("산책", null, null, null, 1, 1);
+
+        // then
+        assertEquals(2, second.getTotalCount());
+        assertEquals(1, second.getDiaries().size());
+    }
+
+    @Test
+    void reindexReplacesChangedDate() throws Exception {
+        // given
+        when(diaryRepository.findDtosByDate(MARCH_1)).thenReturn(List.of());
+
+        // when
+        diarySearchService.onDiaryChanged(DiaryChangedEvent.of(MARCH_1));
+        diarySearchService.awaitIndexing();
+
+        // then
+        DiarySearchResult result = diarySearchService.search("산책", null, null, null, 0, 20);
+        assertEquals(List.of(3), result.getDiaries().stream().map(DiaryDto::getId).toList());
+    }
+
+    @Test
+    void reconcileReindexesOnlyMismatchedDates() throws Exception {
+        // given: 재시작 전에 3월 2일 일기가 지워졌지만 색인에는 반영되지 못했다.
+        List<DiaryDto> stored = List.of(
+                diary(1, MARCH_1, "Clear", "오늘은 날씨가 맑아서 공원에서 산책을 했다"),
+                diary(2, MARCH_1, "Clouds", "흐린 날에는 집에서 책을 읽었다"));
+        when(diaryRepository.findMinDate()).thenReturn(MARCH_1);
+        when(diaryRepository.findMaxDate()).thenReturn(MARCH_1);
+        doAnswer(invocation -> {
+            LocalDate startDate = invocation.getArgument(0);
+            LocalDate endDate = invocation.getArgument(1);
+            stored.stream()
+                    .filter(diary -> !diary.getDate().isBefore(startDate) && !diary.getDate().isAfter(endDate))
+                    .forEach(invocation.<Consumer<DiaryDto>>getArgument(2));
+            return null;
+        }).when(diaryService).streamDiaries(any(), any(), any());
+        when(diaryRepository.findDtosByDate(MARCH_2)).thenReturn(List.of());
+
+        // when
+        diarySearchService.reconcile();
+        diarySearchService.awaitIndexing();
+
+        // then: 하루씩 나눠 비교하고, 색인에만 남은 3월 2일까지 살펴본다.
+        DiarySearchResult result = diarySearchService.search("산책", null, null, null, 0, 20);
+        assertEquals(List.of(1), result.getDiaries().stream().map(DiaryDto::getId).toList());
+        verify(diaryRepository, times(1)).findDtosByDate(MARCH_1);
+        verify(diaryService).streamDiaries(eq(MARCH_1), eq(MARCH_1), any());
+        verify(diaryService).streamDiaries(eq(MARCH_2), eq(MARCH_2), any());
+    }
+
+    @Test
+    void retriesDatesThatFailedToIndex() throws Exception {
+        // given
+        when(diaryRepository.findDtosByDate(MARCH_2))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(diary(3, MARCH_2, "Rain", "비가 그쳐서 산책을 나갔다")));
+        diarySearchService.onDiaryChanged(DiaryChangedEvent.of(MARCH_2));
+        diarySearchService.awaitIndexing();
+
+        // when
+        diarySearchService.retryPendingDates();
+        diarySearchService.awaitIndexing();
+
+        // then
+        DiarySearchResult result = diarySearchService.search("그쳐서", null, null, null, 0, 20);
+        assertEquals(List.of(3), result.getDiaries().stream().map(DiaryDto::getId).toList());
+    }
+
+    @Test
+    void rejectsBlankKeyword() {
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> diarySearchService.search(" ", null, null, null, 0, 20));
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    private static DiaryDto diary(int id, LocalDate date, String weather, String text) {
+        return new DiaryDto(id, weather, "01d", 10.0, text, date, "seoul", false);
+    }
+}
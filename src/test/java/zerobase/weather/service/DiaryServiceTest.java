@@ -1,26 +1,52 @@
 package zerobase.weather.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import zerobase.weather.client.WeatherClient;
+import zerobase.weather.client.WeatherParser;
 import zerobase.weather.domain.DateWeather;
 import zerobase.weather.domain.Diary;
+import zerobase.weather.dto.CreateDiary;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.dto.DiaryPage;
+import zerobase.weather.exception.DiaryException;
 import zerobase.weather.repository.DateWeatherRepository;
+import zerobase.weather.repository.DiaryJdbcRepository;
 import zerobase.weather.repository.DiaryRepository;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static zerobase.weather.type.ErrorCode.DIARY_NOT_FOUND;
+import static zerobase.weather.type.ErrorCode.INVALID_DATE;
+import static zerobase.weather.type.ErrorCode.INVALID_REQUEST;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_UNAVAILABLE;
 
 @ExtendWith(MockitoExtension.class)
 class DiaryServiceTest {
@@ -31,13 +57,47 @@ class DiaryServiceTest {
     @Mock
     private DiaryRepository diaryRepository;
 
+    @Mock
+    private DiaryJdbcRepository diaryJdbcRepository;
+
+    @Mock
+    private DiaryStatsService diaryStatsService;
+
+    @Mock
+    private DateWeatherCache dateWeatherCache;
+
+    @Mock
+    private DiaryReadCache diaryReadCache;
+
+    @Mock
+    private DiaryVersionTracker diaryVersionTracker;
+
+    @Mock
+    private WeatherFetchCoalescer weatherFetchCoalescer;
+
+    @Mock
+    private WeatherClient weatherClient;
+
+    @Mock
+    private WeatherParser weatherParser;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Spy
-    @InjectMocks
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private DiaryService diaryService;
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(diaryService, "apikey", "test_api_key");
+        diaryService = spy(new DiaryService(dateWeatherRepository, diaryRepository, diaryJdbcRepository,
+                diaryStatsService, dateWeatherCache, diaryReadCache, diaryVersionTracker, weatherFetchCoalescer,
+                weatherClient, weatherParser, meterRegistry, eventPublisher, transactionManager,
+                new SyncTaskExecutor(), 500, "seoul", List.of("seoul", "Busan"), 4));
     }
 
     @Test
@@ -48,13 +108,16 @@ class DiaryServiceTest {
         mockWeatherData.setWeather("Sunny");
         mockWeatherData.setTemperature(32.0);
 
-        doReturn(mockWeatherData).when(diaryService).getWeatherFromApi();
+        doReturn(mockWeatherData).when(diaryService).getWeatherFromApi("seoul");
+        doThrow(new DiaryException(WEATHER_API_UNAVAILABLE)).when(diaryService).getWeatherFromApi("busan");
 
         // when
         diaryService.saveWeatherDate();
 
         // then
-        verify(dateWeatherRepository).save(any(DateWeather.class));
+        verify(diaryStatsService, times(1)).saveDateWeather(any(DateWeather.class));
+        verify(dateWeatherCache, times(1)).put(any());
+        verify(diaryService).getWeatherFromApi("busan");
     }
 
     @Test
@@ -65,29 +128,123 @@ class DiaryServiceTest {
         DateWeather dateWeather = new DateWeather();
         dateWeather.setDate(date);
         dateWeather.setWeather("Sunny");
-        when(dateWeatherRepository.findAllByDate(date))
-                .thenReturn(Collections.singletonList(dateWeather));
+        when(dateWeatherRepository.findByDateAndCity(date, "busan"))
+                .thenReturn(Optional.of(dateWeather));
 
         // When
-        diaryService.createDiary(date, text);
+        diaryService.createDiary(date, " Busan ", text);
 
         // Then
         verify(diaryRepository, times(1)).save(any(Diary.class));
+        verify(diaryStatsService).recordCreated(argThat(diaries -> diaries.size() == 1));
+        verify(eventPublisher).publishEvent(argThat((DiaryChangedEvent event) -> event.getDates().equals(Set.of(date))));
+    }
+
+    @Test
+    void createDiaryKeepsStaleWeatherFlag() {
+        // Given
+        LocalDate date = LocalDate.now();
+        DateWeather latestWeather = new DateWeather();
+        latestWeather.setDate(date.minusDays(1));
+        latestWeather.setCity("seoul");
+        latestWeather.setWeather("Clouds");
+        when(dateWeatherRepository.findByDateAndCity(date, "seoul")).thenReturn(Optional.empty());
+        when(weatherFetchCoalescer.fetch(eq(date), eq("seoul"), any()))
+                .thenThrow(new DiaryException(WEATHER_API_UNAVAILABLE));
+        when(dateWeatherRepository.findFirstByCityAndDateLessThanEqualOrderByDateDesc(eq("seoul"), any(LocalDate.class))).thenReturn(Optional.of(latestWeather));
+
+        // When
+        diaryService.createDiary(date, "seoul", "stale");
+
+        // Then
+        verify(diaryRepository).save(argThat((Diary diary) -> diary.isWeatherStale() && "Clouds".equals(diary.getWeather())));
+    }
+
+    @Test
+    void createDiaries() {
+        // Given
+        LocalDate date = LocalDate.now();
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(date);
+        dateWeather.setWeather("Sunny");
+        when(dateWeatherRepository.findByDateAndCity(date, "seoul"))
+                .thenReturn(Optional.of(dateWeather));
+        when(diaryJdbcRepository.batchInsert(anyList(), anyInt())).thenReturn(3);
+        List<CreateDiary.Request> requests = Arrays.asList(
+                new CreateDiary.Request(date, "first", null),
+                new CreateDiary.Request(date, "second", "seoul"),
+                new CreateDiary.Request(date, "third", "Seoul"));
+
+        // When
+        int createdCount = diaryService.createDiaries(requests);
+
+        // Then
+        assertEquals(3, createdCount);
+        verify(dateWeatherRepository, times(1)).findByDateAndCity(date, "seoul");
+        // 날씨를 모두 가져온 뒤에 트랜잭션을 시작한다.
+        InOrder inOrder = inOrder(dateWeatherRepository, transactionManager, diaryJdbcRepository);
+        inOrder.verify(dateWeatherRepository).findByDateAndCity(date, "seoul");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(diaryJdbcRepository).batchInsert(anyList(), anyInt());
+        verify(diaryStatsService).recordCreated(argThat(diaries -> diaries.size() == 3));
+    }
+
+    @Test
+    void createDiaryRejectsUnknownCity() {
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> diaryService.createDiary(LocalDate.now(), "atlantis", "text"));
+
+        // Then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+        verify(weatherFetchCoalescer, never()).fetch(any(), any(), any());
+        verify(diaryService, never()).getWeatherFromApi(any());
+    }
+
+    @Test
+    void createDiariesRejectsMissingDate() {
+        // Given
+        List<CreateDiary.Request> requests = Collections.singletonList(new CreateDiary.Request(null, "text", null));
+
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> diaryService.createDiaries(requests));
+
+        // Then
+        assertEquals(INVALID_DATE, exception.getErrorCode());
+        verify(diaryJdbcRepository, never()).batchInsert(anyList(), anyInt());
     }
 
     @Test
     void readDiary() {
         // Given
         LocalDate date = LocalDate.now();
-        List<Diary> expectedDiaries = Collections.singletonList(new Diary());
-        when(diaryRepository.findAllByDate(date)).thenReturn(expectedDiaries);
+        List<DiaryDto> expectedDiaries = Collections.singletonList(new DiaryDto());
+        when(diaryRepository.findDtosByDate(date)).thenReturn(expectedDiaries);
 
         // When
-        List<Diary> diaries = diaryService.readDiary(date);
+        List<DiaryDto> diaries = diaryService.readDiary(date);
 
         // Then
         assertEquals(expectedDiaries, diaries);
-        verify(diaryRepository, times(1)).findAllByDate(date);
+        verify(diaryRepository, times(1)).findDtosByDate(date);
+        verify(diaryReadCache).put(date, 0L, expectedDiaries);
+    }
+
+    @Test
+    void readDiaryFromCache() {
+        // Given
+        LocalDate date = LocalDate.now();
+        List<DiaryDto> cachedDiaries = Collections.singletonList(new DiaryDto());
+        when(diaryVersionTracker.getVersion(date)).thenReturn(5L);
+        when(diaryReadCache.get(date, 5L)).thenReturn(Optional.of(cachedDiaries));
+
+        // When
+        List<DiaryDto> diaries = diaryService.readDiary(date);
+
+        // Then
+        assertEquals(cachedDiaries, diaries);
+        verify(diaryRepository, never()).findDtosByDate(date);
     }
 
     @Test
@@ -95,17 +252,75 @@ class DiaryServiceTest {
         // Given
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = LocalDate.now().plusDays(30);
-        List<Diary> expectedDiaries = Arrays.asList(new Diary(), new Diary());
-        when(diaryRepository.findAllByDateBetween(startDate, endDate))
+        List<DiaryDto> expectedDiaries = Arrays.asList(new DiaryDto(), new DiaryDto());
+        when(diaryRepository.findDtosByDateBetween(startDate, endDate))
                 .thenReturn(expectedDiaries);
 
         // When
-        List<Diary> diaries = diaryService.readDiaries(startDate, endDate);
+        List<DiaryDto> diaries = diaryService.readDiaries(startDate, endDate);
 
         // Then
         assertEquals(expectedDiaries, diaries);
         verify(diaryRepository, times(1))
-                .findAllByDateBetween(startDate, endDate);
+                .findDtosByDateBetween(startDate, endDate);
+    }
+
+    @Test
+    void readDiaryPage() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 3, 31);
+        List<DiaryDto> rows = Arrays.asList(
+                DiaryDto.builder().id(1).date(startDate).build(),
+                DiaryDto.builder().id(2).date(startDate).build(),
+                DiaryDto.builder().id(3).date(startDate.plusDays(1)).build());
+        when(diaryRepository.findDtoPageAfter(eq(startDate), eq(endDate), eq(startDate), eq(0), any()))
+                .thenReturn(rows);
+
+        // When
+        DiaryPage page = diaryService.readDiaryPage(startDate, endDate, null, 0, 2);
+
+        // Then
+        assertEquals(2, page.getDiaries().size());
+        assertEquals(startDate, page.getNextAfterDate());
+        assertEquals(2, page.getNextAfterId());
+    }
+
+    @Test
+    void readDiaryPageLastPage() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 3, 31);
+        LocalDate afterDate = LocalDate.of(2024, 3, 2);
+        List<DiaryDto> rows = Collections.singletonList(DiaryDto.builder().id(7).date(afterDate).build());
+        when(diaryRepository.findDtoPageAfter(eq(startDate), eq(endDate), eq(afterDate), eq(6), any()))
+                .thenReturn(rows);
+
+        // When
+        DiaryPage page = diaryService.readDiaryPage(startDate, endDate, afterDate, 6, 2);
+
+        // Then
+        assertEquals(1, page.getDiaries().size());
+        assertNull(page.getNextAfterDate());
+        assertNull(page.getNextAfterId());
+    }
+
+    @Test
+    void streamDiaries() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 3, 31);
+        DiaryDto first = new DiaryDto();
+        DiaryDto second = new DiaryDto();
+        when(diaryRepository.streamDtosByDateBetween(startDate, endDate))
+                .thenReturn(Stream.of(first, second));
+        List<DiaryDto> streamed = new ArrayList<>();
+
+        // When
+        diaryService.streamDiaries(startDate, endDate, streamed::add);
+
+        // Then
+        assertEquals(Arrays.asList(first, second), streamed);
     }
 
     @Test
@@ -113,29 +328,46 @@ class DiaryServiceTest {
         // Given
         LocalDate date = LocalDate.now();
         String updatedText = "Updated diary";
-        Diary diary = new Diary();
-        diary.setDate(date);
-        diary.setText("Original diary");
-        when(diaryRepository.getFirstByDate(date)).thenReturn(diary);
+        when(diaryRepository.findFirstIdByDate(date)).thenReturn(7);
+        when(diaryRepository.updateTextById(7, updatedText)).thenReturn(1);
 
         // When
-        diaryService.updateDiary(date, updatedText);
+        int updatedCount = diaryService.updateDiary(date, updatedText);
 
         // Then
-        assertEquals(updatedText, diary.getText());
-        verify(diaryRepository, times(1)).save(diary);
+        assertEquals(1, updatedCount);
+        verify(diaryRepository, times(1)).updateTextById(7, updatedText);
+        verify(diaryRepository, never()).save(any(Diary.class));
+    }
+
+    @Test
+    void updateDiaryNotFound() {
+        // Given
+        LocalDate date = LocalDate.now();
+        when(diaryRepository.findFirstIdByDate(date)).thenReturn(null);
+
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> diaryService.updateDiary(date, "Updated diary"));
+
+        // Then
+        assertEquals(DIARY_NOT_FOUND, exception.getErrorCode());
     }
 
     @Test
     void deleteDiary() {
         // Given
         LocalDate date = LocalDate.now();
+        when(diaryRepository.deleteAllByDateInBulk(date)).thenReturn(3);
 
         // When
-        diaryService.deleteDiary(date);
+        int deletedCount = diaryService.deleteDiary(date);
 
         // Then
-        verify(diaryRepository, times(1)).deleteAllByDate(date);
+        assertEquals(3, deletedCount);
+        verify(diaryStatsService).recordDeleted(date);
+        verify(diaryRepository, times(1)).deleteAllByDateInBulk(date);
+        verify(eventPublisher).publishEvent(any(DiaryChangedEvent.class));
     }
 
     @Test
@@ -143,13 +375,87 @@ class DiaryServiceTest {
         // Given
         LocalDate date = LocalDate.now();
         DateWeather expectedWeather = new DateWeather();
-        when(dateWeatherRepository.findAllByDate(date)).thenReturn(Collections.singletonList(expectedWeather));
+        when(dateWeatherRepository.findByDateAndCity(date, "seoul")).thenReturn(Optional.of(expectedWeather));
 
         // When
-        DateWeather result = diaryService.getDateWeather(date);
+        DateWeather result = diaryService.getDateWeather(date, "seoul");
 
         // Then
         assertEquals(expectedWeather, result);
-        verify(dateWeatherRepository, times(1)).findAllByDate(date);
+        verify(dateWeatherRepository, times(1)).findByDateAndCity(date, "seoul");
+        verify(dateWeatherCache).put(date, expectedWeather);
+    }
+
+    @Test
+    void getDateWeatherFromCache() {
+        // Given
+        LocalDate date = LocalDate.now();
+        DateWeather cachedWeather = new DateWeather();
+        when(dateWeatherCache.get(date, "seoul")).thenReturn(Optional.of(cachedWeather));
+
+        // When
+        DateWeather result = diaryService.getDateWeather(date, "seoul");
+
+        // Then
+        assertEquals(cachedWeather, result);
+        verify(dateWeatherRepository, never()).findByDateAndCity(date, "seoul");
+        assertEquals(1.0, meterRegistry.counter("weather.lookup", "source", "cache").count());
+    }
+
+    @Test
+    void getDateWeatherFromApiWhenMissing() {
+        // Given
+        LocalDate date = LocalDate.now();
+        DateWeather fetchedWeather = new DateWeather();
+        when(dateWeatherRepository.findByDateAndCity(date, "busan")).thenReturn(Optional.empty());
+        when(weatherFetchCoalescer.fetch(eq(date), eq("busan"), any())).thenReturn(fetchedWeather);
+
+        // When
+        DateWeather result = diaryService.getDateWeather(date, "busan");
+
+        // Then
+        assertEquals(fetchedWeather, result);
+        verify(dateWeatherCache).put(date, fetchedWeather);
+    }
+
+    @Test
+    void getDateWeatherFallsBackToStaleWeather() {
+        // Given
+        LocalDate date = LocalDate.now();
+        DateWeather latestWeather = new DateWeather();
+        latestWeather.setDate(date.minusDays(3));
+        latestWeather.setCity("seoul");
+        latestWeather.setWeather("Clouds");
+        when(dateWeatherRepository.findByDateAndCity(date, "seoul")).thenReturn(Optional.empty());
+        when(weatherFetchCoalescer.fetch(eq(date), eq("seoul"), any()))
+                .thenThrow(new DiaryException(WEATHER_API_UNAVAILABLE));
+        when(dateWeatherRepository.findFirstByCityAndDateLessThanEqualOrderByDateDesc(eq("seoul"), any(LocalDate.class))).thenReturn(Optional.of(latestWeather));
+
+        // When
+        DateWeather result = diaryService.getDateWeather(date, "seoul");
+
+        // Then
+        assertTrue(result.isStale());
+        assertEquals(date, result.getDate());
+        assertEquals("Clouds", result.getWeather());
+        verify(dateWeatherCache, never()).put(any(LocalDate.class), any(DateWeather.class));
+        assertEquals(1.0, meterRegistry.counter("weather.lookup", "source", "stale").count());
+    }
+
+    @Test
+    void getDateWeatherRethrowsWhenNoStaleWeather() {
+        // Given
+        LocalDate date = LocalDate.now();
+        when(dateWeatherRepository.findByDateAndCity(date, "seoul")).thenReturn(Optional.empty());
+        when(weatherFetchCoalescer.fetch(eq(date), eq("seoul"), any()))
+                .thenThrow(new DiaryException(WEATHER_API_UNAVAILABLE));
+        when(dateWeatherRepository.findFirstByCityAndDateLessThanEqualOrderByDateDesc(eq("seoul"), any(LocalDate.class))).thenReturn(Optional.empty());
+
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> diaryService.getDateWeather(date, "seoul"));
+
+        // Then
+        assertEquals(WEATHER_API_UNAVAILABLE, exception.getErrorCode());
     }
-}
\ No newline at end of file
+}
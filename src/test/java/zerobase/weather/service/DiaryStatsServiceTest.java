@@ -0,0 +1,150 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.Diary;
+import zerobase.weather.repository.DateWeatherRepository;
+import zerobase.weather.repository.DiaryStatsJdbcRepository;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatDelta;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatKey;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryStatsServiceTest {
+
+    @Mock
+    private DiaryStatsJdbcRepository diaryStatsJdbcRepository;
+
+    @Mock
+    private DateWeatherRepository dateWeatherRepository;
+
+    @Mock
+    private DateWeatherCache dateWeatherCache;
+
+    @InjectMocks
+    private DiaryStatsService diaryStatsService;
+
+    @Test
+    void recordCreatedAggregatesByDateAndMonth() {
+        // Given
+        LocalDate first = LocalDate.of(2024, 3, 1);
+        LocalDate second = LocalDate.of(2024, 3, 2);
+        List<Diary> diaries = List.of(
+                diary(first, "Clear", 10.0),
+                diary(first, "Clear", 12.0),
+                diary(second, null, 5.0));
+
+        // When
+        diaryStatsService.recordCreated(diaries);
+
+        // Then
+        Map<StatKey, StatDelta> daily = new TreeMap<>(Map.of(
+                new StatKey(first, "Clear"), new StatDelta(2, 22.0),
+                new StatKey(second, ""), new StatDelta(1, 5.0)));
+        Map<StatKey, StatDelta> monthly = new TreeMap<>(Map.of(
+                new StatKey(first, "Clear"), new StatDelta(2, 22.0),
+                new StatKey(first, ""), new StatDelta(1, 5.0)));
+        verify(diaryStatsJdbcRepository).addDaily(argThat(daily::equals));
+        verify(diaryStatsJdbcRepository).addMonthly(argThat(monthly::equals));
+    }
+
+    @Test
+    void recordDeletedSubtractsLockedDiaries() {
+        // Given
+        LocalDate date = LocalDate.of(2024, 3, 15);
+        when(diaryStatsJdbcRepository.lockDiaryWeatherByDate(date))
+                .thenReturn(List.of(Map.entry("Rain", 3.0), Map.entry("Rain", 5.0)));
+
+        // When
+        diaryStatsService.recordDeleted(date);
+
+        // Then
+        Map<StatKey, StatDelta> monthly = Map.of(new StatKey(LocalDate.of(2024, 3, 1), "Rain"), new StatDelta(-2, -8.0));
+        verify(diaryStatsJdbcRepository).deleteDaily(date);
+        verify(diaryStatsJdbcRepository).addMonthly(argThat(monthly::equals));
+    }
+
+    @Test
+    void saveDateWeatherCountsFirstInsert() {
+        // Given
+        DateWeather dateWeather = dateWeather("Clear", 7.0);
+        when(diaryStatsJdbcRepository.lockDateWeather(dateWeather.getDate(), "seoul")).thenReturn(Optional.empty());
+        when(dateWeatherRepository.insertIgnore(dateWeather)).thenReturn(1);
+
+        // When
+        diaryStatsService.saveDateWeather(dateWeather);
+
+        // Then
+        Map<StatKey, StatDelta> weather = Map.of(new StatKey(LocalDate.of(2024, 3, 1), "Clear"), new StatDelta(1, 7.0));
+        verify(diaryStatsJdbcRepository).addWeather(eq("seoul"), argThat(weather::equals));
+        verify(dateWeatherRepository, never()).upsert(any(DateWeather.class));
+        verify(dateWeatherCache, never()).evict(any(), any());
+    }
+
+    @Test
+    void saveDateWeatherReplacesOverwrittenWeather() {
+        // Given
+        DateWeather dateWeather = dateWeather("Clear", 7.0);
+        when(diaryStatsJdbcRepository.lockDateWeather(dateWeather.getDate(), "seoul"))
+                .thenReturn(Optional.of(Map.entry("Rain", 3.0)));
+
+        // When
+        diaryStatsService.saveDateWeather(dateWeather);
+
+        // Then
+        LocalDate month = LocalDate.of(2024, 3, 1);
+        Map<StatKey, StatDelta> weather = Map.of(
+                new StatKey(month, "Rain"), new StatDelta(-1, -3.0),
+                new StatKey(month, "Clear"), new StatDelta(1, 7.0));
+        verify(dateWeatherRepository, never()).insertIgnore(any(DateWeather.class));
+        verify(dateWeatherRepository).upsert(dateWeather);
+        verify(diaryStatsJdbcRepository).addWeather(eq("seoul"), argThat(weather::equals));
+        verify(dateWeatherCache).evict(dateWeather.getDate(), "seoul");
+    }
+
+    @Test
+    void saveDateWeatherRelocksRowInsertedConcurrently() {
+        // Given
+        DateWeather dateWeather = dateWeather("Clear", 7.0);
+        when(diaryStatsJdbcRepository.lockDateWeather(dateWeather.getDate(), "seoul"))
+                .thenReturn(Optional.empty(), Optional.of(Map.entry("Clear", 5.0)));
+        when(dateWeatherRepository.insertIgnore(dateWeather)).thenReturn(0);
+
+        // When
+        diaryStatsService.saveDateWeather(dateWeather);
+
+        // Then
+        Map<StatKey, StatDelta> weather = Map.of(new StatKey(LocalDate.of(2024, 3, 1), "Clear"), new StatDelta(0, 2.0));
+        verify(dateWeatherRepository).upsert(dateWeather);
+        verify(diaryStatsJdbcRepository).addWeather(eq("seoul"), argThat(weather::equals));
+    }
+
+    private static DateWeather dateWeather(String weather, double temperature) {
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(LocalDate.of(2024, 3, 15));
+        dateWeather.setCity("seoul");
+        dateWeather.setWeather(weather);
+        dateWeather.setTemperature(temperature);
+        return dateWeather;
+    }
+
+    private static Diary diary(LocalDate date, String weather, double temperature) {
+        Diary diary = new Diary();
+        diary.setDate(date);
+        diary.setWeather(weather);
+        diary.setTemperature(temperature);
+        return diary;
+    }
+}
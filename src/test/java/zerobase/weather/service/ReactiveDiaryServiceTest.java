@@ -0,0 +1,212 @@
+package zerobase.weather.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import zerobase.weather.client.WeatherClient;
+import zerobase.weather.client.WeatherData;
+import zerobase.weather.client.WeatherParser;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.Diary;
+import zerobase.weather.dto.DiaryDto;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatDelta;
+import zerobase.weather.repository.DiaryStatsJdbcRepository.StatKey;
+import zerobase.weather.repository.ReactiveDiaryRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static zerobase.weather.type.ErrorCode.WEATHER_API_UNAVAILABLE;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDiaryServiceTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private ReactiveDiaryRepository reactiveDiaryRepository;
+
+    @Mock
+    private DiaryService diaryService;
+
+    @Mock
+    private DateWeatherCache dateWeatherCache;
+
+    @Mock
+    private DiaryReadCache diaryReadCache;
+
+    @Mock
+    private WeatherClient weatherClient;
+
+    @Mock
+    private WeatherParser weatherParser;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ReactiveDiaryService reactiveDiaryService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(diaryService.normalizeCity(null)).thenReturn("seoul");
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createDiaryWithCachedWeather() {
+        // Given
+        DateWeather dateWeather = dateWeather("Clear", false);
+        when(dateWeatherCache.get(DATE, "seoul")).thenReturn(Optional.of(dateWeather));
+        when(reactiveDiaryRepository.insertDiary(any(Diary.class))).thenReturn(Mono.just(1L));
+        when(reactiveDiaryRepository.addDiaryStats(any(Diary.class))).thenReturn(Mono.empty());
+        when(reactiveDiaryRepository.incrementDiaryVersion(DATE)).thenReturn(Mono.just(1L));
+
+        // When
+        reactiveDiaryService.createDiary(DATE, null, "text").block();
+
+        // Then
+        verify(reactiveDiaryRepository).insertDiary(argThat(diary ->
+                "Clear".equals(diary.getWeather()) && DATE.equals(diary.getDate()) && "text".equals(diary.getText())));
+        verify(reactiveDiaryRepository).incrementDiaryVersion(DATE);
+        verify(eventPublisher).publishEvent(any(DiaryChangedEvent.class));
+        verify(weatherClient, never()).fetchWeatherAsync(any());
+    }
+
+    @Test
+    void fetchedWeatherIsSavedAndCounted() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(dateWeatherCache.get(today, "seoul")).thenReturn(Optional.empty());
+        when(reactiveDiaryRepository.findDateWeather(today, "seoul")).thenReturn(Mono.empty());
+        when(weatherClient.fetchWeatherAsync("seoul")).thenReturn(CompletableFuture.completedFuture("{}"));
+        when(weatherParser.parse("{}")).thenReturn(new WeatherData(280.5, "Clear", "01d"));
+        when(reactiveDiaryRepository.lockDateWeather(today, "seoul")).thenReturn(Mono.empty());
+        when(reactiveDiaryRepository.insertIgnoreDateWeather(any(DateWeather.class))).thenReturn(Mono.just(1L));
+        when(reactiveDiaryRepository.addWeatherStat(any(DateWeather.class))).thenReturn(Mono.just(1L));
+
+        // When
+        DateWeather dateWeather = reactiveDiaryService.getDateWeather(today, "seoul").block();
+
+        // Then
+        assertEquals(today, dateWeather.getDate());
+        verify(reactiveDiaryRepository).addWeatherStat(dateWeather);
+        verify(reactiveDiaryRepository, never()).upsertDateWeather(any());
+        verify(dateWeatherCache).put(today, dateWeather);
+    }
+
+    @Test
+    void fetchedWeatherReplacesStatOfRowInsertedConcurrently() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(dateWeatherCache.get(today, "seoul")).thenReturn(Optional.empty());
+        when(reactiveDiaryRepository.findDateWeather(today, "seoul")).thenReturn(Mono.empty());
+        when(weatherClient.fetchWeatherAsync("seoul")).thenReturn(CompletableFuture.completedFuture("{}"));
+        when(weatherParser.parse("{}")).thenReturn(new WeatherData(280.5, "Clear", "01d"));
+        when(reactiveDiaryRepository.lockDateWeather(today, "seoul"))
+                .thenReturn(Mono.empty(), Mono.just(Map.entry("Rain", 3.0)));
+        when(reactiveDiaryRepository.insertIgnoreDateWeather(any(DateWeather.class))).thenReturn(Mono.just(0L));
+        when(reactiveDiaryRepository.upsertDateWeather(any(DateWeather.class))).thenReturn(Mono.just(2L));
+        when(reactiveDiaryRepository.addWeatherStat(eq("seoul"), any(StatKey.class), any(StatDelta.class)))
+                .thenReturn(Mono.just(1L));
+
+        // When
+        DateWeather dateWeather = reactiveDiaryService.getDateWeather(today, "seoul").block();
+
+        // Then
+        LocalDate month = today.withDayOfMonth(1);
+        verify(reactiveDiaryRepository).upsertDateWeather(dateWeather);
+        verify(reactiveDiaryRepository).addWeatherStat("seoul", new StatKey(month, "Rain"), new StatDelta(-1, -3.0));
+        verify(reactiveDiaryRepository).addWeatherStat("seoul", new StatKey(month, "Clear"),
+                new StatDelta(1, dateWeather.getTemperature()));
+        verify(reactiveDiaryRepository, never()).addWeatherStat(any(DateWeather.class));
+    }
+
+    @Test
+    void fetchedWeatherForPastDateIsReturnedButNotSaved() {
+        // Given
+        when(dateWeatherCache.get(DATE, "seoul")).thenReturn(Optional.empty());
+        when(reactiveDiaryRepository.findDateWeather(DATE, "seoul")).thenReturn(Mono.empty());
+        when(weatherClient.fetchWeatherAsync("seoul")).thenReturn(CompletableFuture.completedFuture("{}"));
+        when(weatherParser.parse("{}")).thenReturn(new WeatherData(280.5, "Clear", "01d"));
+
+        // When
+        DateWeather dateWeather = reactiveDiaryService.getDateWeather(DATE, "seoul").block();
+
+        // Then
+        assertEquals(LocalDate.now(), dateWeather.getDate());
+        verify(reactiveDiaryRepository, never()).insertIgnoreDateWeather(any());
+        verify(reactiveDiaryRepository, never()).addWeatherStat(any(DateWeather.class));
+        verify(dateWeatherCache, never()).put(any(), any());
+    }
+
+    @Test
+    void fallsBackToStaleWeatherWhenApiIsUnavailable() {
+        // Given
+        when(dateWeatherCache.get(DATE, "seoul")).thenReturn(Optional.empty());
+        when(reactiveDiaryRepository.findDateWeather(DATE, "seoul")).thenReturn(Mono.empty());
+        when(weatherClient.fetchWeatherAsync("seoul"))
+                .thenReturn(CompletableFuture.failedFuture(new DiaryException(WEATHER_API_UNAVAILABLE)));
+        when(reactiveDiaryRepository.findLatestDateWeather("seoul")).thenReturn(Mono.just(dateWeather("Rain", false)));
+
+        // When
+        DateWeather dateWeather = reactiveDiaryService.getDateWeather(DATE, "seoul").block();
+
+        // Then
+        assertTrue(dateWeather.isStale());
+        assertEquals("Rain", dateWeather.getWeather());
+        verify(dateWeatherCache, never()).put(eq(DATE), any());
+    }
+
+    @Test
+    void readDiaryUsesVersionedCache() {
+        // Given
+        List<DiaryDto> cached = List.of(new DiaryDto(1, "Clear", "01d", 280.5, "text", DATE, "seoul", false));
+        when(reactiveDiaryRepository.findDiaryVersion(DATE)).thenReturn(Mono.just(3L));
+        when(diaryReadCache.get(DATE, 3L)).thenReturn(Optional.of(cached));
+
+        // When
+        List<DiaryDto> diaries = reactiveDiaryService.readDiary(DATE).block();
+
+        // Then
+        assertSame(cached, diaries);
+        verify(reactiveDiaryRepository, never()).findDtosByDate(any());
+    }
+
+    private static DateWeather dateWeather(String weather, boolean stale) {
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(DATE);
+        dateWeather.setCity("seoul");
+        dateWeather.setWeather(weather);
+        dateWeather.setIcon("01d");
+        dateWeather.setTemperature(280.5);
+        dateWeather.setStale(stale);
+        return dateWeather;
+    }
+}
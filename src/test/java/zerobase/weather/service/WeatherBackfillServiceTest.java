@@ -0,0 +1,180 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zerobase.weather.domain.BackfillJob;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.domain.DateWeatherId;
+import zerobase.weather.dto.BackfillJobDto;
+import zerobase.weather.exception.DiaryException;
+import zerobase.weather.repository.BackfillJobRepository;
+import zerobase.weather.repository.DateWeatherRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static zerobase.weather.type.BackfillStatus.COMPLETED;
+import static zerobase.weather.type.BackfillStatus.COMPLETED_WITH_FAILURES;
+import static zerobase.weather.type.ErrorCode.FAIL_TO_FETCH_WEATHER_DATA_FROM_API;
+import static zerobase.weather.type.ErrorCode.INVALID_REQUEST;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherBackfillServiceTest {
+
+    @Mock
+    private DateWeatherRepository dateWeatherRepository;
+
+    @Mock
+    private BackfillJobRepository backfillJobRepository;
+
+    @Mock
+    private WeatherFetchCoalescer weatherFetchCoalescer;
+
+    @Mock
+    private DateWeatherCache dateWeatherCache;
+
+    @Mock
+    private DiaryService diaryService;
+
+    private WeatherBackfillService weatherBackfillService;
+
+    @BeforeEach
+    void setUp() {
+        weatherBackfillService = new WeatherBackfillService(dateWeatherRepository, backfillJobRepository,
+                weatherFetchCoalescer, dateWeatherCache, diaryService, 2, 3, Duration.ZERO, 31, 31);
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherBackfillService.shutdown();
+    }
+
+    @Test
+    void fillsTodayAndRecordsPastDatesAsFailedWithoutFetching() {
+        // Given
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = today.minusDays(2);
+        givenJob();
+        when(dateWeatherRepository.findDatesByCityAndDateBetween("seoul", startDate, today))
+                .thenReturn(List.of(today.minusDays(1)));
+        when(diaryService.getWeatherFromApi("seoul")).thenAnswer(invocation -> new DateWeather());
+        when(weatherFetchCoalescer.fetch(any(), eq("seoul"), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<DateWeather>>getArgument(2).get());
+        when(dateWeatherRepository.existsById(any(DateWeatherId.class))).thenReturn(true);
+
+        // When
+        BackfillJobDto job = weatherBackfillService.startBackfill(startDate, today, null);
+
+        // Then
+        assertEquals(2, job.getTotalCount());
+        verify(backfillJobRepository, timeout(5000)).updateProgress(
+                eq(1L), eq(COMPLETED_WITH_FAILURES), eq(2), eq(1), eq(1), eq(today), any());
+        verify(weatherFetchCoalescer).fetch(eq(today), eq("seoul"), any());
+        verify(weatherFetchCoalescer, never()).fetch(eq(startDate), any(), any());
+        verify(dateWeatherCache, times(1)).put(any(LocalDate.class), any(DateWeather.class));
+    }
+
+    @Test
+    void retriesThenRecordsFailure() {
+        // Given
+        LocalDate date = LocalDate.now();
+        givenJob();
+        when(dateWeatherRepository.findDatesByCityAndDateBetween("seoul", date, date))
+                .thenReturn(Collections.emptyList());
+        when(weatherFetchCoalescer.fetch(eq(date), eq("seoul"), any()))
+                .thenThrow(new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API));
+
+        // When
+        weatherBackfillService.startBackfill(date, date, "seoul");
+
+        // Then
+        verify(backfillJobRepository, timeout(5000)).updateProgress(
+                eq(1L), eq(COMPLETED_WITH_FAILURES), eq(1), eq(0), eq(1), eq(date), any());
+        verify(weatherFetchCoalescer, times(3)).fetch(eq(date), eq("seoul"), any());
+        verify(dateWeatherCache, never()).put(any(LocalDate.class), any(DateWeather.class));
+    }
+
+    @Test
+    void dateIsNotDoneUntilItsRowExists() {
+        // Given
+        LocalDate date = LocalDate.now();
+        givenJob();
+        when(dateWeatherRepository.findDatesByCityAndDateBetween("seoul", date, date))
+                .thenReturn(Collections.emptyList());
+        // 다른 요청의 조회 결과를 공유했지만 이 날짜의 행은 저장되지 않은 경우
+        when(weatherFetchCoalescer.fetch(eq(date), eq("seoul"), any())).thenReturn(new DateWeather());
+        when(dateWeatherRepository.existsById(new DateWeatherId(date, "seoul"))).thenReturn(false, false, true);
+
+        // When
+        weatherBackfillService.startBackfill(date, date, "seoul");
+
+        // Then
+        verify(backfillJobRepository, timeout(5000)).updateProgress(
+                eq(1L), eq(COMPLETED), eq(1), eq(1), eq(0), eq(date), any());
+        verify(weatherFetchCoalescer, times(3)).fetch(eq(date), eq("seoul"), any());
+        verify(dateWeatherCache, times(1)).put(any(LocalDate.class), any(DateWeather.class));
+    }
+
+    @Test
+    void rejectsFutureRange() {
+        // Given
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> weatherBackfillService.startBackfill(tomorrow, tomorrow, "seoul"));
+
+        // Then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+        verify(backfillJobRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectsRangeLongerThanMaxDays() {
+        // Given
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(31);
+
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> weatherBackfillService.startBackfill(startDate, endDate, "seoul"));
+
+        // Then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+        verify(backfillJobRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectsStartBeyondMaxPastDays() {
+        // Given
+        LocalDate startDate = LocalDate.now().minusDays(32);
+
+        // When
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> weatherBackfillService.startBackfill(startDate, startDate, "seoul"));
+
+        // Then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+        verify(backfillJobRepository, never()).save(any());
+    }
+
+    private void givenJob() {
+        when(diaryService.normalizeCity(any())).thenReturn("seoul");
+        when(backfillJobRepository.save(any(BackfillJob.class))).thenAnswer(invocation -> {
+            BackfillJob job = invocation.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package zerobase.weather.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import zerobase.weather.domain.DateWeather;
+import zerobase.weather.exception.DiaryException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static zerobase.weather.type.ErrorCode.FAIL_TO_FETCH_WEATHER_DATA_FROM_API;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherFetchCoalescerTest {
+
+    @Mock
+    private DiaryStatsService diaryStatsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WeatherFetchCoalescer weatherFetchCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        weatherFetchCoalescer = new WeatherFetchCoalescer(diaryStatsService, transactionManager);
+    }
+
+    @Test
+    void concurrentFetchesShareOneCall() throws Exception {
+        // Given
+        LocalDate date = LocalDate.now();
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(date);
+        dateWeather.setCity("seoul");
+
+        int callers = 8;
+        AtomicInteger apiCalls = new AtomicInteger();
+        CountDownLatch allJoined = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<DateWeather>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> weatherFetchCoalescer.fetch(date, "seoul", () -> {
+                    apiCalls.incrementAndGet();
+                    awaitQuietly(allJoined);
+                    return dateWeather;
+                })));
+            }
+            // 첫 호출이 진행 중인 동안 나머지 호출이 합류할 시간을 준다.
+            Thread.sleep(200);
+            allJoined.countDown();
+
+            // Then
+            for (Future<DateWeather> result : results) {
+                assertSame(dateWeather, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, apiCalls.get());
+        verify(diaryStatsService, times(1)).saveDateWeather(dateWeather);
+        assertEquals(0, weatherFetchCoalescer.inFlightCount());
+    }
+
+    @Test
+    void pastDateIsReturnedButNotSaved() {
+        // Given
+        LocalDate pastDate = LocalDate.of(2024, 3, 1);
+        DateWeather today = new DateWeather();
+        today.setDate(LocalDate.now());
+        today.setCity("seoul");
+        today.setWeather("Clear");
+        today.setTemperature(280.5);
+
+        // When
+        DateWeather result = weatherFetchCoalescer.fetch(pastDate, "seoul", () -> today);
+
+        // Then
+        assertSame(today, result);
+        verify(diaryStatsService, never()).saveDateWeather(any());
+    }
+
+    @Test
+    void failureIsPropagatedAndNotRemembered() {
+        // Given
+        LocalDate date = LocalDate.of(2024, 3, 1);
+
+        // When & Then
+        DiaryException exception = assertThrows(DiaryException.class,
+                () -> weatherFetchCoalescer.fetch(date, "seoul", () -> {
+                    throw new DiaryException(FAIL_TO_FETCH_WEATHER_DATA_FROM_API);
+                }));
+        assertEquals(FAIL_TO_FETCH_WEATHER_DATA_FROM_API, exception.getErrorCode());
+        assertEquals(0, weatherFetchCoalescer.inFlightCount());
+        verify(diaryStatsService, never()).saveDateWeather(any(DateWeather.class));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package zerobase.weather.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenWeatherMap 대신 띄우는 로컬 HTTP 서버. 벤치마크와 부하 테스트에서 외부 API 없이 날씨를 받는다.
+ * 응답마다 {@code latency} 만큼 기다리고, {@code errorRate} 비율로 503 을 돌려준다.
+ */
+public class WeatherStubServer implements AutoCloseable {
+    public static final String WEATHER_JSON =
+            "{\"weather\":[{\"main\":\"Clear\",\"icon\":\"01d\"}],\"main\":{\"temp\":280.5}}";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile Duration latency;
+    private volatile double errorRate;
+
+    public WeatherStubServer(Duration latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/data/2.5/weather", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    // openWeatherMap.url 에 넣을 주소
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/data/2.5/weather";
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try (exchange) {
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+            boolean fail = ThreadLocalRandom.current().nextDouble() < errorRate;
+            byte[] body = (fail ? "{\"cod\":503}" : WEATHER_JSON).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(fail ? 503 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}